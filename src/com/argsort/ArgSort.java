@@ -0,0 +1,276 @@
+package com.argsort;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.radixsort.RadixSort;
+
+// Argsort = instead of sorting the keys, return the order that would sort them:
+// perm[i] = index of the i-th smallest key. Equal keys keep their original order (stable).
+//
+// With a permutation, any number of columns (parallel arrays) can be reordered the
+// same way with applyPermutation, without building one object per row.
+//
+//	int[] perm = ArgSort.argsort(age);
+//	ArgSort.applyPermutation(perm, age, zipCode);
+//	ArgSort.applyPermutation(perm, salary);
+//
+// int keys: the parallel RadixSort sorts a copy of the keys and moves the indices along
+// long/double keys: parallel merge sort of the indices with a single int[] buffer
+public class ArgSort {
+
+	private static final int INSERTION_CUTOFF = 24;
+	private static final int PARALLEL_THRESHOLD = 1 << 13;
+
+	public static int[] argsort(int[] keys) {
+
+		// sort a copy of the keys and carry each row's index along: 3 stable radix passes
+		int[] perm = identity(keys.length);
+		RadixSort.sort(keys.clone(), perm);
+		return perm;
+	}
+
+	public static int[] argsort(long[] keys) {
+
+		int[] perm = identity(keys.length);
+		mergeSort(perm, keys);
+		return perm;
+	}
+
+	// ordered like Double.compare: -0.0 before 0.0, NaN last.
+	// Same bit mapping as RadixSort: negative doubles get their magnitude bits flipped.
+	public static int[] argsort(double[] keys) {
+
+		long[] sortable = new long[keys.length];
+		for(int i = 0; i < keys.length; i++) {
+			long bits = Double.doubleToLongBits(keys[i]);
+			sortable[i] = bits ^ ((bits >> 63) & 0x7FFFFFFFFFFFFFFFL);
+		}
+		return argsort(sortable);
+	}
+
+	// Reorders every column in place so that column[i] becomes the old column[perm[i]].
+	// Follows the cycles of the permutation, so the only extra memory is one bit per row.
+	public static void applyPermutation(int[] perm, int[]... columns) {
+
+		long[] visited = checkPermutation(perm);
+		for(int[] column : columns) {
+			checkLength(perm, column.length);
+			clear(visited);
+			for(int start = 0; start < perm.length; start++) {
+				if(isSet(visited, start)) {
+					continue;
+				}
+				int first = column[start];
+				int i = start;
+				while(true) {
+					set(visited, i);
+					int next = perm[i];
+					if(next == start) {
+						column[i] = first;
+						break;
+					}
+					column[i] = column[next];
+					i = next;
+				}
+			}
+		}
+	}
+
+	public static void applyPermutation(int[] perm, long[]... columns) {
+
+		long[] visited = checkPermutation(perm);
+		for(long[] column : columns) {
+			checkLength(perm, column.length);
+			clear(visited);
+			for(int start = 0; start < perm.length; start++) {
+				if(isSet(visited, start)) {
+					continue;
+				}
+				long first = column[start];
+				int i = start;
+				while(true) {
+					set(visited, i);
+					int next = perm[i];
+					if(next == start) {
+						column[i] = first;
+						break;
+					}
+					column[i] = column[next];
+					i = next;
+				}
+			}
+		}
+	}
+
+	public static void applyPermutation(int[] perm, double[]... columns) {
+
+		long[] visited = checkPermutation(perm);
+		for(double[] column : columns) {
+			checkLength(perm, column.length);
+			clear(visited);
+			for(int start = 0; start < perm.length; start++) {
+				if(isSet(visited, start)) {
+					continue;
+				}
+				double first = column[start];
+				int i = start;
+				while(true) {
+					set(visited, i);
+					int next = perm[i];
+					if(next == start) {
+						column[i] = first;
+						break;
+					}
+					column[i] = column[next];
+					i = next;
+				}
+			}
+		}
+	}
+
+	public static void applyPermutation(int[] perm, Object[]... columns) {
+
+		long[] visited = checkPermutation(perm);
+		for(Object[] column : columns) {
+			checkLength(perm, column.length);
+			clear(visited);
+			for(int start = 0; start < perm.length; start++) {
+				if(isSet(visited, start)) {
+					continue;
+				}
+				Object first = column[start];
+				int i = start;
+				while(true) {
+					set(visited, i);
+					int next = perm[i];
+					if(next == start) {
+						column[i] = first;
+						break;
+					}
+					column[i] = column[next];
+					i = next;
+				}
+			}
+		}
+	}
+
+	private static int[] identity(int length) {
+
+		int[] perm = new int[length];
+		for(int i = 0; i < length; i++) {
+			perm[i] = i;
+		}
+		return perm;
+	}
+
+	private static void mergeSort(int[] perm, long[] keys) {
+
+		if(perm.length < 2) {
+			return;
+		}
+		int[] buffer = perm.clone();
+		MergeTask task = new MergeTask(buffer, perm, keys, 0, perm.length);
+		if(perm.length < PARALLEL_THRESHOLD) {
+			task.compute();
+		}
+		else {
+			ForkJoinPool.commonPool().invoke(task);
+		}
+	}
+
+	// Sorts [lo, hi) of the indices into dst by their keys, using src as scratch.
+	// src and dst start with the same contents; each level sorts its halves into
+	// the other array and merges them back (ping-pong), so nothing is copied back.
+	@SuppressWarnings("serial") // tasks are never serialized
+	private static final class MergeTask extends RecursiveAction {
+
+		private final int[] src;
+		private final int[] dst;
+		private final long[] keys;
+		private final int lo;
+		private final int hi;
+
+		MergeTask(int[] src, int[] dst, long[] keys, int lo, int hi) {
+			this.src = src;
+			this.dst = dst;
+			this.keys = keys;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		protected void compute() {
+
+			if(hi - lo <= INSERTION_CUTOFF) {
+				insertionSort(dst, keys, lo, hi);
+				return;
+			}
+			int middle = (lo + hi) >>> 1;
+			MergeTask left = new MergeTask(dst, src, keys, lo, middle);
+			MergeTask right = new MergeTask(dst, src, keys, middle, hi);
+			if(hi - lo < PARALLEL_THRESHOLD) {
+				left.compute();
+				right.compute();
+			}
+			else {
+				invokeAll(left, right);
+			}
+
+			int l = lo, r = middle, out = lo;
+			while(l < middle && r < hi) {
+				// ties take the left index, which keeps the sort stable
+				dst[out++] = keys[src[r]] < keys[src[l]] ? src[r++] : src[l++];
+			}
+			System.arraycopy(src, l, dst, out, middle - l);
+			System.arraycopy(src, r, dst, out + (middle - l), hi - r);
+		}
+	}
+
+	private static void insertionSort(int[] perm, long[] keys, int from, int to) {
+
+		for(int i = from + 1; i < to; i++) {
+			int index = perm[i];
+			long key = keys[index];
+			int j = i - 1;
+			while(j >= from && keys[perm[j]] > key) {
+				perm[j + 1] = perm[j];
+				j--;
+			}
+			perm[j + 1] = index;
+		}
+	}
+
+	// every index must appear exactly once, otherwise the cycle walk would never end
+	private static long[] checkPermutation(int[] perm) {
+
+		long[] seen = new long[(perm.length + 63) >>> 6];
+		for(int index : perm) {
+			if(index < 0 || index >= perm.length || isSet(seen, index)) {
+				throw new IllegalArgumentException("not a permutation of 0.." + (perm.length - 1) + ": " + index);
+			}
+			set(seen, index);
+		}
+		return seen;
+	}
+
+	private static void checkLength(int[] perm, int length) {
+
+		if(length != perm.length) {
+			throw new IllegalArgumentException("column length " + length + " != permutation length " + perm.length);
+		}
+	}
+
+	private static boolean isSet(long[] bits, int index) {
+		return (bits[index >>> 6] & (1L << index)) != 0;
+	}
+
+	private static void set(long[] bits, int index) {
+		bits[index >>> 6] |= 1L << index;
+	}
+
+	private static void clear(long[] bits) {
+		Arrays.fill(bits, 0L);
+	}
+}
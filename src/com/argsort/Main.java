@@ -0,0 +1,26 @@
+package com.argsort;
+
+import java.util.Arrays;
+
+public class Main {
+
+	public static void main(String[] args) {
+
+		// argsort = the positions that would sort an array, not the sorted values
+		// sort the positions by one column, then reorder every column the same way
+
+		int[] age = { 31, 22, 45, 22, 38 };
+		int[] zipCode = { 10001, 94105, 60601, 73301, 98101 };
+		double[] salary = { 72000.0, 51000.0, 98000.0, 48000.0, 83000.0 };
+
+		int[] perm = ArgSort.argsort(age);
+		System.out.println("perm: " + Arrays.toString(perm));
+
+		ArgSort.applyPermutation(perm, age, zipCode);
+		ArgSort.applyPermutation(perm, salary);
+
+		for (int i = 0; i < age.length; i++) {
+			System.out.println(age[i] + "\t" + zipCode[i] + "\t" + salary[i]);
+		}
+	}
+}
@@ -0,0 +1,128 @@
+package com.binarysearch;
+
+// Looks up many targets in one sorted array at once.
+//
+// One binary search after another waits for a cache miss on almost every probe,
+// and the next probe can't start before the previous one is back.
+// Different targets don't depend on each other, so:
+//
+// - unsorted targets: GROUP searches step through the bisection together, one level
+//   at a time. The GROUP loads of a level are independent, so the CPU keeps them all
+//   in flight at once instead of paying the memory latency GROUP times.
+//   Every step is branch-free (base += half or not), so all searches of a group
+//   take exactly the same number of steps and stay in lockstep.
+// - sorted targets: each answer is at or after the previous one, so the search
+//   gallops forward from the last answer (1, 2, 4, ... elements, then a binary search
+//   inside the last jump). Close targets cost O(log(distance)), and a sweep over
+//   the whole array reads it front to back, which the hardware prefetcher loves.
+//
+// run-time complexity = O(m log(n)) for m targets, O(m log(n / m)) when the targets are sorted
+// space complexity = O(m) for the results
+public class BatchSearch {
+
+	private static final int GROUP = 16;
+
+	// result[i] = index of the first element == targets[i], or -1 if there is none
+	public static int[] indexOf(int[] sorted, int[] targets) {
+
+		int[] result = lowerBounds(sorted, targets);
+		for(int i = 0; i < result.length; i++) {
+			int index = result[i];
+			if(index == sorted.length || sorted[index] != targets[i]) {
+				result[i] = -1;
+			}
+		}
+		return result;
+	}
+
+	// result[i] = index of the first element >= targets[i], or sorted.length if there is none
+	public static int[] lowerBounds(int[] sorted, int[] targets) {
+
+		int[] result = new int[targets.length];
+		if(sorted.length == 0) {
+			return result;
+		}
+		if(isSorted(targets)) {
+			sweep(sorted, targets, result);
+		}
+		else {
+			interleaved(sorted, targets, result);
+		}
+		return result;
+	}
+
+	private static void interleaved(int[] sorted, int[] targets, int[] result) {
+
+		int[] base = new int[GROUP];
+		int length = sorted.length;
+		for(int start = 0; start < targets.length; start += GROUP) {
+
+			int count = Math.min(GROUP, targets.length - start);
+			for(int j = 0; j < count; j++) {
+				base[j] = 0;
+			}
+			// invariant: the lower bound of every target in the group is in [base, base + remaining]
+			for(int remaining = length; remaining > 1; ) {
+				int half = remaining >>> 1;
+				for(int j = 0; j < count; j++) {
+					int b = base[j];
+					base[j] = sorted[b + half - 1] < targets[start + j] ? b + half : b;
+				}
+				remaining -= half;
+			}
+			for(int j = 0; j < count; j++) {
+				int b = base[j];
+				result[start + j] = b + (sorted[b] < targets[start + j] ? 1 : 0);
+			}
+		}
+	}
+
+	private static void sweep(int[] sorted, int[] targets, int[] result) {
+
+		int position = 0;
+		for(int i = 0; i < targets.length; i++) {
+			position = gallop(sorted, position, targets[i]);
+			result[i] = position;
+		}
+	}
+
+	// first index >= from whose element is >= target, given sorted[from - 1] < target
+	private static int gallop(int[] sorted, int from, int target) {
+
+		int length = sorted.length;
+		if(from == length || sorted[from] >= target) {
+			return from;
+		}
+		// sorted[low] < target, find a high with sorted[high] >= target (or the end)
+		int low = from;
+		int step = 1;
+		int high = from + 1;
+		while(high < length && sorted[high] < target) {
+			low = high;
+			step <<= 1;
+			high = (int) Math.min((long) from + step, length);
+		}
+		// sorted[low] < target <= sorted[high]
+		low++;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(sorted[middle] < target) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static boolean isSorted(int[] array) {
+
+		for(int i = 1; i < array.length; i++) {
+			if(array[i - 1] > array[i]) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
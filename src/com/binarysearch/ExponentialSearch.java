@@ -0,0 +1,146 @@
+package com.binarysearch;
+
+// Exponential (galloping) search = binary search for sorted data whose size is unknown,
+// or when the answer is probably close to a known position.
+//
+// Starting from a hint, probe hint + 1, hint + 2, hint + 4, hint + 8, ... until a
+// probe passes the target (or the end of the data), then binary search inside the
+// last jump. If the answer is d positions from the hint, that is O(log(d)) probes,
+// no matter how long the data is, and the size never has to be known up front.
+//
+// The data is read through SortedSource, so it can be an array, a growing log,
+// or pages that are loaded on demand. inBounds tells where the data ends.
+//
+//	ExponentialSearch.Cursor cursor = new ExponentialSearch.Cursor(source);
+//	cursor.lowerBound(key);   // later lookups start from the last answer
+//
+// run-time complexity = O(log(d)), d = distance between hint and answer
+// space complexity = O(1)
+public class ExponentialSearch {
+
+	// Sorted values by index. Indexes 0, 1, 2, ... are valid up to some end
+	// that doesn't have to be known, inBounds must be false from there on.
+	public interface SortedSource {
+
+		long valueAt(long index);
+
+		boolean inBounds(long index);
+
+		static SortedSource of(int[] sorted) {
+			return new SortedSource() {
+				@Override
+				public long valueAt(long index) {
+					return sorted[(int) index];
+				}
+
+				@Override
+				public boolean inBounds(long index) {
+					return index < sorted.length;
+				}
+			};
+		}
+
+		static SortedSource of(long[] sorted) {
+			return new SortedSource() {
+				@Override
+				public long valueAt(long index) {
+					return sorted[(int) index];
+				}
+
+				@Override
+				public boolean inBounds(long index) {
+					return index < sorted.length;
+				}
+			};
+		}
+	}
+
+	// index of the first value == key, or -1 if there is none
+	public static long indexOf(SortedSource source, long key) {
+		return matchOrMinusOne(source, key, lowerBound(source, key, 0));
+	}
+
+	// index of the first value >= key, or the end of the source if there is none
+	public static long lowerBound(SortedSource source, long key) {
+		return lowerBound(source, key, 0);
+	}
+
+	// same as lowerBound(source, key), but gallops outward from hint
+	public static long lowerBound(SortedSource source, long key, long hint) {
+
+		hint = Math.max(0, hint);
+		long low, high; // the answer is in (low, high]
+
+		if(before(source, hint, key)) {
+			// gallop right: hint + 1, hint + 2, hint + 4, ...
+			low = hint;
+			long step = 1;
+			high = hint + 1;
+			while(before(source, high, key)) {
+				low = high;
+				step <<= 1;
+				high = step > Long.MAX_VALUE - hint ? Long.MAX_VALUE : hint + step;
+			}
+		}
+		else {
+			// gallop left: hint - 1, hint - 2, hint - 4, ...
+			high = hint;
+			long step = 1;
+			low = hint - 1;
+			while(low >= 0 && !before(source, low, key)) {
+				high = low;
+				step <<= 1;
+				low = hint - step;
+			}
+			low = Math.max(low, -1);
+		}
+
+		// first index in (low, high] that isn't before key; high itself isn't
+		low++;
+		while(low < high) {
+			long middle = (low + high) >>> 1;
+			if(before(source, middle, key)) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	// true if index holds a value < key. Past the end counts as +infinity.
+	private static boolean before(SortedSource source, long index, long key) {
+		return source.inBounds(index) && source.valueAt(index) < key;
+	}
+
+	private static long matchOrMinusOne(SortedSource source, long key, long index) {
+		return source.inBounds(index) && source.valueAt(index) == key ? index : -1;
+	}
+
+	// Remembers the answer of the last lookup and gallops from there,
+	// so a run of nearby lookups (e.g. a merge or a join) costs O(log(distance)) each.
+	public static class Cursor {
+
+		private final SortedSource source;
+		private long position;
+
+		public Cursor(SortedSource source) {
+			this.source = source;
+		}
+
+		public long lowerBound(long key) {
+
+			position = ExponentialSearch.lowerBound(source, key, position);
+			return position;
+		}
+
+		public long indexOf(long key) {
+			return matchOrMinusOne(source, key, lowerBound(key));
+		}
+
+		public long position() {
+			return position;
+		}
+	}
+}
@@ -0,0 +1,101 @@
+package com.binarysearch;
+
+// Read-only search index over a sorted int[], laid out in Eytzinger (BFS) order.
+//
+// Binary search on a plain sorted array jumps around: the first probes of every
+// lookup hit n/2, n/4, 3n/4, ... which are all in different cache lines.
+// Eytzinger order stores the implicit search tree level by level, like a binary heap:
+//
+//	keys[1] = root, the children of keys[k] are keys[2k] and keys[2k + 1]
+//
+// so the top levels of the tree sit next to each other and stay in cache, and
+// the 16 grand-grand-grand-children of a node share one 64-byte cache line.
+//
+// - branch-free descent: k = 2k + (keys[k] < target), the comparison only picks a child
+// - "prefetch": Java has no prefetch instruction, so every step also loads the line
+//   4 levels further down. The load doesn't depend on the comparison, so the CPU starts
+//   the cache miss early and the descent finds the line already on its way.
+//
+// run-time complexity = O(log(n)), with fewer cache misses than Arrays.binarySearch
+// space complexity = O(n), a copy of the keys plus their positions in the sorted array
+public class EytzingerIndex {
+
+	// the descent computes 2k + 1 in an int, so node numbers must stay below 2^30
+	private static final int MAX_SIZE = 1 << 30;
+
+	private final int[] keys;       // 1-based, keys[0] is always 0 (see descend)
+	private final int[] positions;  // positions[k] = index of keys[k] in the sorted array
+	private final int size;
+
+	// sortedKeys must be sorted in ascending order, it is copied and not kept
+	public EytzingerIndex(int[] sortedKeys) {
+
+		for(int i = 1; i < sortedKeys.length; i++) {
+			if(sortedKeys[i - 1] > sortedKeys[i]) {
+				throw new IllegalArgumentException("keys are not sorted at index " + i);
+			}
+		}
+		if(sortedKeys.length >= MAX_SIZE) {
+			throw new IllegalArgumentException("too many keys: " + sortedKeys.length + ", at most " + (MAX_SIZE - 1));
+		}
+		this.size = sortedKeys.length;
+		this.keys = new int[size + 1];
+		this.positions = new int[size + 1];
+		build(sortedKeys, 0, 1);
+	}
+
+	// in-order walk of the implicit tree hands out the sorted keys from left to right
+	private int build(int[] sortedKeys, int next, int k) {
+
+		if(k <= size) {
+			next = build(sortedKeys, next, 2 * k);
+			keys[k] = sortedKeys[next];
+			positions[k] = next++;
+			next = build(sortedKeys, next, 2 * k + 1);
+		}
+		return next;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	// index of target in the sorted array, or -1 if it isn't there.
+	// With duplicates, the index of the first one.
+	public int indexOf(int target) {
+
+		int k = descend(target);
+		return k != 0 && keys[k] == target ? positions[k] : -1;
+	}
+
+	public boolean contains(int target) {
+
+		int k = descend(target);
+		return k != 0 && keys[k] == target;
+	}
+
+	// index of the first key >= target in the sorted array, size() if there is none
+	public int lowerBound(int target) {
+
+		int k = descend(target);
+		return k == 0 ? size : positions[k];
+	}
+
+	// Eytzinger position of the first key >= target, 0 if there is none
+	private int descend(int target) {
+
+		int[] keys = this.keys;
+		int size = this.size;
+		int prefetched = 0;
+		int k = 1;
+		while(k <= size) {
+			prefetched += keys[(int) Math.min((long) k << 4, size)];
+			k = 2 * k + (keys[k] < target ? 1 : 0);
+		}
+		// every right turn appended a 1 bit, every left turn a 0 bit.
+		// The answer is the node of the last left turn: drop the trailing 1s and that 0.
+		// prefetched & keys[0] is always 0, but the JIT can't know that, so the
+		// prefetch loads are kept without a shared write per lookup.
+		return (k >>> (Integer.numberOfTrailingZeros(~k) + 1)) + (prefetched & keys[0]);
+	}
+}
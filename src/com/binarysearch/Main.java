@@ -1,5 +1,7 @@
 package com.binarysearch;
 
+import java.util.Arrays;
+
 public class Main {
 
 	// binary search = Search algorithm that finds the position
@@ -24,6 +26,18 @@ public class Main {
 			System.out.println("Element found at: " + index);
 		}
 
+		// same lookup with a cache-friendly layout, built once and searched many times
+		EytzingerIndex eytzingerIndex = new EytzingerIndex(array);
+		System.out.println("EytzingerIndex found it at: " + eytzingerIndex.indexOf(target));
+
+		// many lookups at once overlap their memory loads
+		int[] targets = { 5, 777777, 123456, -1 };
+		System.out.println("BatchSearch: " + Arrays.toString(BatchSearch.indexOf(array, targets)));
+
+		// no length needed, and lookups near the last answer are cheap
+		ExponentialSearch.Cursor cursor = new ExponentialSearch.Cursor(ExponentialSearch.SortedSource.of(array));
+		System.out.println("ExponentialSearch: " + cursor.indexOf(777777) + ", then " + cursor.indexOf(777800));
+
 	}
 
 	private static int binarySearch(int[] array, int target) {
@@ -36,8 +50,6 @@ public class Main {
 			int middle = low + (high - low) / 2;
 			int value = array[middle];
 
-			System.out.println("middle: " + value);
-
 			if (value < target)
 				low = middle + 1;
 			else if (value > target)
@@ -21,14 +21,25 @@ public class Main {
 	}
 
 	public static void bubbleSort(int array[]) {
+		bubbleSort(array, 0, array.length);
+	}
 
-		for (int i = 0; i < array.length - 1; i++) {
-			for (int j = 0; j < array.length - i - 1; j++) {
-				if (array[j] > array[j + 1]) {
-					int temp = array[j];
-					array[j] = array[j + 1];
-					array[j + 1] = temp;
-				}
+	// sorts array[from..to-1], stops early once a pass makes no swaps
+	public static void bubbleSort(int array[], int from, int to) {
+
+		for (int end = to - 1; end > from; end--) {
+			boolean swapped = false;
+			for (int j = from; j < end; j++) {
+				// compare-exchange with min/max instead of if + swap:
+				// no branch for the CPU to mispredict
+				int a = array[j];
+				int b = array[j + 1];
+				array[j] = Math.min(a, b);
+				array[j + 1] = Math.max(a, b);
+				swapped |= a > b;
+			}
+			if (!swapped) {
+				return;
 			}
 		}
 	}
@@ -0,0 +1,124 @@
+package com.dinamicarray;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Append-only dynamic array for many producer threads.
+// Storage is a list of segments whose sizes double: 8, 16, 32, ...
+// so growing only allocates a new segment and never copies existing elements.
+//
+// add()  = one atomic increment to claim a slot + one volatile write to fill it,
+//          then moves the "published" mark past every filled slot in front of it
+// get()  = never waits: only indexes below size() are readable, and size() only
+//          counts slots whose element, and every element before it, is in place.
+//          A producer that stalls between claiming and filling its slot hides the
+//          elements added after it until it finishes, but never blocks a reader.
+public class ConcurrentDynamicArray {
+
+	private static final int FIRST_SEGMENT_BITS = 3;
+	private static final int FIRST_SEGMENT_SIZE = 1 << FIRST_SEGMENT_BITS;
+	private static final int MAX_SEGMENTS = 32 - FIRST_SEGMENT_BITS;
+
+	private final AtomicReferenceArray<AtomicReferenceArray<Object>> segments = new AtomicReferenceArray<>(MAX_SEGMENTS);
+	private final AtomicInteger claimed = new AtomicInteger();
+	private final AtomicInteger published = new AtomicInteger(); // slots [0, published) are all filled
+
+	public ConcurrentDynamicArray() {
+		segments.set(0, new AtomicReferenceArray<>(FIRST_SEGMENT_SIZE));
+	}
+
+	// elements may not be null, a null slot means "claimed but not yet filled"
+	public int add(Object data) {
+
+		if(data == null) {
+			throw new NullPointerException("ConcurrentDynamicArray does not accept null elements");
+		}
+		int index = claimed.getAndIncrement();
+		if(index < 0) {
+			claimed.decrementAndGet();
+			throw new IllegalStateException("ConcurrentDynamicArray is full");
+		}
+		int segment = segmentOf(index);
+		segmentFor(segment).set(offsetOf(index, segment), data);
+		advancePublished();
+		return index;
+	}
+
+	// Moves published past the filled slots in front of it. Every producer does this after
+	// filling its slot, so whoever fills the last gap of a run moves the mark over all of it.
+	private void advancePublished() {
+
+		int mark;
+		while((mark = published.get()) < claimedCount()) {
+			int segment = segmentOf(mark);
+			AtomicReferenceArray<Object> slots = segments.get(segment);
+			if(slots == null || slots.get(offsetOf(mark, segment)) == null) {
+				return; // claimed but not filled yet, its producer moves the mark on
+			}
+			published.compareAndSet(mark, mark + 1);
+		}
+	}
+
+	// claimed wraps negative once every index up to Integer.MAX_VALUE is taken
+	private int claimedCount() {
+		int count = claimed.get();
+		return count < 0 ? Integer.MAX_VALUE : count;
+	}
+
+	public Object get(int index) {
+
+		if(index < 0 || index >= size()) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+		}
+		// index < published, so its segment and element are already in place
+		int segment = segmentOf(index);
+		return segments.get(segment).get(offsetOf(index, segment));
+	}
+
+	// number of published elements: every index below it is readable
+	public int size() {
+		return published.get();
+	}
+
+	public boolean isEmpty() {
+		return published.get() == 0;
+	}
+
+	private AtomicReferenceArray<Object> segmentFor(int segment) {
+
+		AtomicReferenceArray<Object> slots = segments.get(segment);
+		if(slots == null) {
+			// several producers may race here, only one allocation wins
+			segments.compareAndSet(segment, null, new AtomicReferenceArray<>(segmentSize(segment)));
+			slots = segments.get(segment);
+		}
+		return slots;
+	}
+
+	private static int segmentSize(int segment) {
+		// the last segment only needs to reach Integer.MAX_VALUE
+		return segment == MAX_SEGMENTS - 1 ? FIRST_SEGMENT_SIZE : FIRST_SEGMENT_SIZE << segment;
+	}
+
+	// segment k holds indices [8 * (2^k - 1), 8 * (2^(k+1) - 1))
+	private static int segmentOf(int index) {
+		return 31 - Integer.numberOfLeadingZeros((index >>> FIRST_SEGMENT_BITS) + 1);
+	}
+
+	private static int offsetOf(int index, int segment) {
+		return index - ((FIRST_SEGMENT_SIZE << segment) - FIRST_SEGMENT_SIZE);
+	}
+
+	public String toString() {
+
+		StringBuilder string = new StringBuilder("[");
+		int size = size();
+		for(int i = 0; i < size; i++) {
+			if(i > 0) {
+				string.append(", ");
+			}
+			string.append(get(i));
+		}
+		return string.append("]").toString();
+	}
+}
@@ -1,11 +1,19 @@
 package com.dinamicarray;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
 public class DynamicArray {
 
 	int size;
 	int capacity = 10;
 	Object[] array;
 	
+	// optional secondary index: element -> position of its first occurrence
+	// null until enableIndex() is called
+	Map<Object, Integer> index;
+	
 	public DynamicArray() {
 		this.array = new Object[capacity];
 	}
@@ -18,12 +26,32 @@ public class DynamicArray {
             return array[index];
         }
 	
+	// switches search() and delete() from identity (==) to equals/hashCode
+	// and makes the lookup O(1) expected, at the cost of one map entry per distinct element
+	public void enableIndex() {
+		
+		if(index != null) {
+			return;
+		}
+		index = new HashMap<>(Math.max(16, (int) (size / 0.75f) + 1));
+		for(int i = 0; i < size; i++) {
+			index.putIfAbsent(array[i], i);
+		}
+	}
+	
+	public boolean isIndexed() {
+		return index != null;
+	}
+	
 	public void add(Object data) {
 		
 		if(size >= capacity) {
 			grow();
 		}
 		array[size] = data;
+		if(index != null) {
+			index.putIfAbsent(data, size);
+		}
 		size++;
 	}
 	
@@ -34,13 +62,26 @@ public class DynamicArray {
 		}
 		for(int i = size; i > index; i--) {
 			array[i] = array[i - 1];
+			if(this.index != null) {
+				reindex(array[i], i - 1, i);
+			}
 		}
 		array[index] = data;
+		if(this.index != null) {
+			Integer first = this.index.get(data);
+			if(first == null || first > index) {
+				this.index.put(data, index);
+			}
+		}
 		size++;
 	}
 	
 	public void delete(Object data) {
 		
+		if(index != null) {
+			deleteIndexed(data);
+			return;
+		}
 		for(int i = 0; i < size; i++) {
 			if(array[i] == data) {
 				for(int j = 0; j < (size - i - 1); j++){
@@ -58,6 +99,10 @@ public class DynamicArray {
 	
 	public int search(Object data) {
 		
+		if(index != null) {
+			Integer position = index.get(data);
+			return position == null ? -1 : position;
+		}
 		for(int i = 0; i < size; i++) {
 			if(array[i] == data) {
 				return i;
@@ -66,6 +111,42 @@ public class DynamicArray {
 		return -1;
 	}
 	
+	private void deleteIndexed(Object data) {
+		
+		Integer position = index.remove(data);
+		if(position == null) {
+			return;
+		}
+		int i = position;
+		int next = -1; // next occurrence of data, found while shifting
+		for(int j = i; j < size - 1; j++) {
+			array[j] = array[j + 1];
+			if(next == -1 && Objects.equals(array[j], data)) {
+				next = j;
+			}
+			else {
+				reindex(array[j], j + 1, j);
+			}
+		}
+		array[size - 1] = null;
+		size--;
+		if(next != -1) {
+			index.put(data, next);
+		}
+		if(size <= capacity / 3) {
+			shrink();
+		}
+	}
+	
+	// keeps the first-occurrence position of an element that moved from one slot to another
+	private void reindex(Object data, int from, int to) {
+		
+		Integer first = index.get(data);
+		if(first != null && first == from) {
+			index.put(data, to);
+		}
+	}
+	
 	private void grow() {
 		
 		int newCapacity = (int)(capacity * 2);
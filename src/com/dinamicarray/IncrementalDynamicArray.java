@@ -0,0 +1,198 @@
+package com.dinamicarray;
+
+// DynamicArray variant that never copies the whole backing array in one call.
+//
+// When the array is full, add() allocates the bigger array but only moves
+// "chunk" elements; every following add()/removeLast() moves another chunk
+// until the old array is drained. Until then get() reads the not yet moved
+// elements from the old array.
+//
+// Hysteresis: grow to 2x when full, shrink to 1/2 only when 1/4 full,
+// so alternating add/remove at a boundary can't bounce between grow and shrink.
+//
+// add() and removeLast() do at most O(chunk) work.
+// insert() and delete() shift elements anyway, so they finish a pending migration first.
+public class IncrementalDynamicArray {
+
+	private static final int DEFAULT_CHUNK = 64;
+
+	int size;
+	private final int minCapacity;
+	private final int chunk;
+	private Object[] array;
+
+	// migration in progress while old != null
+	private Object[] old;
+	private int migrated; // elements [0, migrated) are already in array
+	private int limit;    // elements [migrated, limit) still live in old
+
+	public IncrementalDynamicArray() {
+		this(10, DEFAULT_CHUNK);
+	}
+
+	public IncrementalDynamicArray(int capacity, int chunk) {
+
+		if(capacity < 1 || chunk < 1) {
+			throw new IllegalArgumentException("capacity and chunk must be positive");
+		}
+		this.minCapacity = capacity;
+		this.chunk = chunk;
+		this.array = new Object[capacity];
+	}
+
+	public Object get(int index) {
+
+		checkIndex(index);
+		return old != null && index >= migrated && index < limit ? old[index] : array[index];
+	}
+
+	public void set(int index, Object data) {
+
+		checkIndex(index);
+		if(old != null && index >= migrated && index < limit) {
+			old[index] = data;
+		}
+		else {
+			array[index] = data;
+		}
+	}
+
+	public void add(Object data) {
+
+		migrateChunk();
+		if(size == array.length) {
+			startResize(array.length * 2);
+			migrateChunk();
+		}
+		// size >= limit always holds, so new elements go straight into the new array
+		array[size] = data;
+		size++;
+	}
+
+	public Object removeLast() {
+
+		if(size == 0) {
+			throw new IndexOutOfBoundsException("Array is empty");
+		}
+		migrateChunk();
+		Object data = get(size - 1);
+		size--;
+		// the element may sit in either array (old until migrated, array after), clear both
+		array[size] = null;
+		if(old != null && size < limit) {
+			old[size] = null;
+			limit = size;
+			if(migrated >= limit) {
+				old = null;
+			}
+		}
+		shrinkIfSparse();
+		return data;
+	}
+
+	public void insert(int index, Object data) {
+
+		if(index < 0 || index > size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+		finishMigration();
+		if(size == array.length) {
+			startResize(array.length * 2);
+			finishMigration();
+		}
+		System.arraycopy(array, index, array, index + 1, size - index);
+		array[index] = data;
+		size++;
+	}
+
+	public void delete(Object data) {
+
+		int index = search(data);
+		if(index == -1) {
+			return;
+		}
+		finishMigration();
+		System.arraycopy(array, index + 1, array, index, size - index - 1);
+		size--;
+		array[size] = null;
+		shrinkIfSparse();
+	}
+
+	public int search(Object data) {
+
+		for(int i = 0; i < size; i++) {
+			if(get(i) == data) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int capacity() {
+		return array.length;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	private void shrinkIfSparse() {
+
+		if(old == null && array.length / 2 >= minCapacity && size <= array.length / 4) {
+			startResize(array.length / 2);
+			migrateChunk();
+		}
+	}
+
+	private void startResize(int newCapacity) {
+
+		old = array;
+		array = new Object[newCapacity];
+		migrated = 0;
+		limit = size;
+	}
+
+	private void migrateChunk() {
+
+		if(old == null) {
+			return;
+		}
+		int count = Math.min(chunk, limit - migrated);
+		System.arraycopy(old, migrated, array, migrated, count);
+		migrated += count;
+		if(migrated >= limit) {
+			old = null; // drained, let the GC have it
+		}
+	}
+
+	private void finishMigration() {
+
+		if(old != null) {
+			System.arraycopy(old, migrated, array, migrated, limit - migrated);
+			old = null;
+		}
+	}
+
+	private void checkIndex(int index) {
+
+		if(index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+		}
+	}
+
+	public String toString() {
+
+		StringBuilder string = new StringBuilder("[");
+		for(int i = 0; i < size; i++) {
+			if(i > 0) {
+				string.append(", ");
+			}
+			string.append(get(i));
+		}
+		return string.append("]").toString();
+	}
+}
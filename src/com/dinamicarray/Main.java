@@ -5,6 +5,7 @@ public class Main{
 	public static void main(String[] args) {
 
 		DynamicArray dynamicArray = new DynamicArray(5);
+		//dynamicArray.enableIndex(); // O(1) search/delete by equals()
 		
 		dynamicArray.add("A");
 		dynamicArray.add("B");
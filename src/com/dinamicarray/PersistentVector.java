@@ -0,0 +1,403 @@
+package com.dinamicarray;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// Persistent vector = an immutable dynamic array. add()/set()/pop() return a
+// new version and leave the old one untouched, so a snapshot is just a reference.
+//
+// Layout: a 32-way trie of the first (size - tail) elements plus a "tail" array
+// holding the last 1..32 elements. New versions copy only the path from the root
+// to the changed leaf (at most log32(n) arrays of 32), everything else is shared.
+//
+// get()         O(log32 n), 2 levels up to 1024, 4 levels up to ~1 million
+// add()/set()   O(log32 n), add() into the tail is a single 32-element copy
+//
+// builder() returns a Builder that mutates nodes it created in place,
+// for loading many elements without copying a path per element.
+public final class PersistentVector implements Iterable<Object> {
+
+	private static final int BITS = 5;
+	private static final int WIDTH = 1 << BITS;
+	private static final int MASK = WIDTH - 1;
+
+	private static final Node EMPTY_NODE = new Node(null, new Object[WIDTH]);
+	private static final PersistentVector EMPTY = new PersistentVector(0, BITS, EMPTY_NODE, new Object[0]);
+
+	// edit == null for shared (immutable) nodes, otherwise the token of the Builder that owns the node
+	private static final class Node {
+
+		final Object edit;
+		final Object[] array;
+
+		Node(Object edit, Object[] array) {
+			this.edit = edit;
+			this.array = array;
+		}
+
+		Node(Object edit) {
+			this(edit, new Object[WIDTH]);
+		}
+	}
+
+	private final int size;
+	private final int shift;
+	private final Node root;
+	private final Object[] tail;
+
+	private PersistentVector(int size, int shift, Node root, Object[] tail) {
+		this.size = size;
+		this.shift = shift;
+		this.root = root;
+		this.tail = tail;
+	}
+
+	public static PersistentVector empty() {
+		return EMPTY;
+	}
+
+	public static PersistentVector of(Object... elements) {
+
+		Builder builder = EMPTY.builder();
+		for(Object element : elements) {
+			builder.add(element);
+		}
+		return builder.build();
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public Object get(int index) {
+
+		checkIndex(index, size);
+		return leafFor(index)[index & MASK];
+	}
+
+	public PersistentVector add(Object data) {
+
+		int tailSize = size - tailOffset(size);
+		if(tailSize < WIDTH) {
+			Object[] newTail = Arrays.copyOf(tail, tailSize + 1);
+			newTail[tailSize] = data;
+			return new PersistentVector(size + 1, shift, root, newTail);
+		}
+
+		// tail is full: push it into the trie and start a new tail
+		Node tailNode = new Node(null, tail);
+		Node newRoot;
+		int newShift = shift;
+		if((size >>> BITS) > (1 << shift)) {
+			// the trie is full at this height, add a level
+			newRoot = new Node(null);
+			newRoot.array[0] = root;
+			newRoot.array[1] = newPath(null, shift, tailNode);
+			newShift += BITS;
+		}
+		else {
+			newRoot = pushTail(size, shift, root, tailNode);
+		}
+		return new PersistentVector(size + 1, newShift, newRoot, new Object[] { data });
+	}
+
+	public PersistentVector set(int index, Object data) {
+
+		checkIndex(index, size + 1);
+		if(index == size) {
+			return add(data);
+		}
+		if(index >= tailOffset(size)) {
+			Object[] newTail = tail.clone();
+			newTail[index & MASK] = data;
+			return new PersistentVector(size, shift, root, newTail);
+		}
+		return new PersistentVector(size, shift, assoc(shift, root, index, data), tail);
+	}
+
+	// returns a version without the last element
+	public PersistentVector pop() {
+
+		if(size == 0) {
+			throw new IllegalStateException("Can't pop an empty vector");
+		}
+		if(size == 1) {
+			return EMPTY;
+		}
+		if(size - tailOffset(size) > 1) {
+			return new PersistentVector(size - 1, shift, root, Arrays.copyOf(tail, tail.length - 1));
+		}
+
+		// the tail becomes empty: the last leaf of the trie becomes the new tail
+		Object[] newTail = leafFor(size - 2);
+		Node newRoot = popTail(shift, root);
+		int newShift = shift;
+		if(newRoot == null) {
+			newRoot = EMPTY_NODE;
+		}
+		if(shift > BITS && newRoot.array[1] == null) {
+			newRoot = (Node) newRoot.array[0];
+			newShift -= BITS;
+		}
+		return new PersistentVector(size - 1, newShift, newRoot, newTail);
+	}
+
+	public Builder builder() {
+		return new Builder(this);
+	}
+
+	public Iterator<Object> iterator() {
+
+		return new Iterator<Object>() {
+
+			int index;
+			Object[] leaf = size > 0 ? leafFor(0) : null;
+
+			public boolean hasNext() {
+				return index < size;
+			}
+
+			public Object next() {
+
+				if(index >= size) {
+					throw new NoSuchElementException();
+				}
+				if(index > 0 && (index & MASK) == 0) {
+					leaf = leafFor(index); // one trie walk per 32 elements
+				}
+				return leaf[index++ & MASK];
+			}
+		};
+	}
+
+	private Object[] leafFor(int index) {
+
+		if(index >= tailOffset(size)) {
+			return tail;
+		}
+		Node node = root;
+		for(int level = shift; level > 0; level -= BITS) {
+			node = (Node) node.array[(index >>> level) & MASK];
+		}
+		return node.array;
+	}
+
+	private Node pushTail(int size, int level, Node parent, Node tailNode) {
+
+		int subIndex = ((size - 1) >>> level) & MASK;
+		Node result = new Node(null, parent.array.clone());
+		Node toInsert;
+		if(level == BITS) {
+			toInsert = tailNode;
+		}
+		else {
+			Node child = (Node) parent.array[subIndex];
+			toInsert = child != null ? pushTail(size, level - BITS, child, tailNode) : newPath(null, level - BITS, tailNode);
+		}
+		result.array[subIndex] = toInsert;
+		return result;
+	}
+
+	private Node popTail(int level, Node node) {
+
+		int subIndex = ((size - 2) >>> level) & MASK;
+		if(level > BITS) {
+			Node newChild = popTail(level - BITS, (Node) node.array[subIndex]);
+			if(newChild == null && subIndex == 0) {
+				return null;
+			}
+			Node result = new Node(null, node.array.clone());
+			result.array[subIndex] = newChild;
+			return result;
+		}
+		if(subIndex == 0) {
+			return null;
+		}
+		Node result = new Node(null, node.array.clone());
+		result.array[subIndex] = null;
+		return result;
+	}
+
+	private static Node assoc(int level, Node node, int index, Object data) {
+
+		Node result = new Node(null, node.array.clone());
+		if(level == 0) {
+			result.array[index & MASK] = data;
+		}
+		else {
+			int subIndex = (index >>> level) & MASK;
+			result.array[subIndex] = assoc(level - BITS, (Node) node.array[subIndex], index, data);
+		}
+		return result;
+	}
+
+	private static Node newPath(Object edit, int level, Node node) {
+
+		if(level == 0) {
+			return node;
+		}
+		Node result = new Node(edit);
+		result.array[0] = newPath(edit, level - BITS, node);
+		return result;
+	}
+
+	private static int tailOffset(int size) {
+		return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+	}
+
+	private static void checkIndex(int index, int bound) {
+
+		if(index < 0 || index >= bound) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+		}
+	}
+
+	public String toString() {
+
+		StringBuilder string = new StringBuilder("[");
+		for(Object element : this) {
+			if(string.length() > 1) {
+				string.append(", ");
+			}
+			string.append(element);
+		}
+		return string.append("]").toString();
+	}
+
+	// Transient (mutable) version of a PersistentVector for batch loading.
+	// Nodes created by this builder are changed in place; nodes shared with the
+	// source vector are copied once, the first time they are touched.
+	// Not thread safe, and unusable after build().
+	public static final class Builder {
+
+		private Object edit = new Object();
+		private int size;
+		private int shift;
+		private Node root;
+		private Object[] tail;
+
+		private Builder(PersistentVector vector) {
+			this.size = vector.size;
+			this.shift = vector.shift;
+			this.root = vector.root;
+			this.tail = Arrays.copyOf(vector.tail, WIDTH);
+		}
+
+		public int size() {
+			return size;
+		}
+
+		public Object get(int index) {
+
+			ensureEditable();
+			checkIndex(index, size);
+			if(index >= tailOffset(size)) {
+				return tail[index & MASK];
+			}
+			Node node = root;
+			for(int level = shift; level > 0; level -= BITS) {
+				node = (Node) node.array[(index >>> level) & MASK];
+			}
+			return node.array[index & MASK];
+		}
+
+		public Builder add(Object data) {
+
+			ensureEditable();
+			int tailSize = size - tailOffset(size);
+			if(tailSize < WIDTH) {
+				tail[tailSize] = data;
+				size++;
+				return this;
+			}
+
+			Node tailNode = new Node(edit, tail);
+			tail = new Object[WIDTH];
+			tail[0] = data;
+			if((size >>> BITS) > (1 << shift)) {
+				Node newRoot = new Node(edit);
+				newRoot.array[0] = root;
+				newRoot.array[1] = newPath(edit, shift, tailNode);
+				root = newRoot;
+				shift += BITS;
+			}
+			else {
+				root = pushTail(shift, root, tailNode);
+			}
+			size++;
+			return this;
+		}
+
+		public Builder set(int index, Object data) {
+
+			ensureEditable();
+			checkIndex(index, size + 1);
+			if(index == size) {
+				return add(data);
+			}
+			if(index >= tailOffset(size)) {
+				tail[index & MASK] = data;
+			}
+			else {
+				root = assoc(shift, root, index, data);
+			}
+			return this;
+		}
+
+		// O(1) apart from trimming the tail; the builder can't be used afterwards
+		public PersistentVector build() {
+
+			ensureEditable();
+			edit = null;
+			if(size == 0) {
+				return EMPTY;
+			}
+			return new PersistentVector(size, shift, root, Arrays.copyOf(tail, size - tailOffset(size)));
+		}
+
+		private Node editable(Node node) {
+			return node.edit == edit ? node : new Node(edit, node.array.clone());
+		}
+
+		private Node pushTail(int level, Node parent, Node tailNode) {
+
+			int subIndex = ((size - 1) >>> level) & MASK;
+			Node result = editable(parent);
+			Node toInsert;
+			if(level == BITS) {
+				toInsert = tailNode;
+			}
+			else {
+				Node child = (Node) result.array[subIndex];
+				toInsert = child != null ? pushTail(level - BITS, child, tailNode) : newPath(edit, level - BITS, tailNode);
+			}
+			result.array[subIndex] = toInsert;
+			return result;
+		}
+
+		private Node assoc(int level, Node node, int index, Object data) {
+
+			Node result = editable(node);
+			if(level == 0) {
+				result.array[index & MASK] = data;
+			}
+			else {
+				int subIndex = (index >>> level) & MASK;
+				result.array[subIndex] = assoc(level - BITS, (Node) result.array[subIndex], index, data);
+			}
+			return result;
+		}
+
+		private void ensureEditable() {
+
+			if(edit == null) {
+				throw new IllegalStateException("Builder used after build()");
+			}
+		}
+	}
+}
@@ -0,0 +1,215 @@
+package com.dinamicarray;
+
+// Tiered vector = a dynamic array split into blocks of b ~ sqrt(n) elements.
+// Every block is a small circular buffer, so an element can enter or leave
+// at either end of a block in O(1).
+//
+// get(index)           O(1)        block = index / b, then one offset
+// insert(index, data)  O(sqrt(n))  shift inside one block, then pass one
+//                                  element along to each following block
+// delete(index)        O(sqrt(n))  same in reverse
+//
+// All blocks are full except the last one, which keeps get() a simple division.
+public class TieredArray {
+
+	private static final int MIN_BLOCK_BITS = 4;
+
+	int size;
+	private int blockBits;
+	private int blockSize;
+	private int blockMask;
+	private Object[][] blocks;
+	private int[] heads; // index of the first element inside each circular block
+
+	public TieredArray() {
+		init(MIN_BLOCK_BITS, 4);
+	}
+
+	public Object get(int index) {
+
+		checkIndex(index, size);
+		int block = index >>> blockBits;
+		return blocks[block][(heads[block] + index) & blockMask];
+	}
+
+	public void set(int index, Object data) {
+
+		checkIndex(index, size);
+		int block = index >>> blockBits;
+		blocks[block][(heads[block] + index) & blockMask] = data;
+	}
+
+	public void add(Object data) {
+		insert(size, data);
+	}
+
+	public void insert(int index, Object data) {
+
+		checkIndex(index, size + 1);
+		ensureCapacity(size + 1);
+
+		int block = index >>> blockBits;
+		int last = size >>> blockBits; // block that receives the new last element
+
+		// make room in the target block by passing the last element
+		// of every full block on to the front of the next one
+		for(int j = last; j > block; j--) {
+			pushFront(j, popBack(j - 1));
+		}
+
+		// shift the tail of the target block one slot to the right
+		Object[] slots = blocks[block];
+		int head = heads[block];
+		int local = index & blockMask;
+		int length = (block == last) ? size - (block << blockBits) : blockSize - 1;
+		for(int i = length; i > local; i--) {
+			slots[(head + i) & blockMask] = slots[(head + i - 1) & blockMask];
+		}
+		slots[(head + local) & blockMask] = data;
+		size++;
+	}
+
+	public Object delete(int index) {
+
+		checkIndex(index, size);
+
+		int block = index >>> blockBits;
+		int last = (size - 1) >>> blockBits;
+
+		Object[] slots = blocks[block];
+		int head = heads[block];
+		int local = index & blockMask;
+		int length = (block == last) ? size - (block << blockBits) : blockSize;
+		Object removed = slots[(head + local) & blockMask];
+		for(int i = local; i < length - 1; i++) {
+			slots[(head + i) & blockMask] = slots[(head + i + 1) & blockMask];
+		}
+		slots[(head + length - 1) & blockMask] = null;
+
+		// refill the hole by pulling the first element of every following block back
+		for(int j = block + 1; j <= last; j++) {
+			blocks[j - 1][(heads[j - 1] + blockSize - 1) & blockMask] = popFront(j);
+		}
+		size--;
+
+		if(blockBits > MIN_BLOCK_BITS && size < (blockSize * blockSize) / 8) {
+			rebuild(blockBits - 1);
+		}
+		return removed;
+	}
+
+	public int search(Object data) {
+
+		for(int i = 0; i < size; i++) {
+			if(get(i) == data) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	private Object popBack(int block) {
+
+		int slot = (heads[block] + blockSize - 1) & blockMask;
+		Object data = blocks[block][slot];
+		blocks[block][slot] = null;
+		return data;
+	}
+
+	private void pushFront(int block, Object data) {
+
+		heads[block] = (heads[block] - 1) & blockMask;
+		blocks[block][heads[block]] = data;
+	}
+
+	private Object popFront(int block) {
+
+		int slot = heads[block];
+		Object data = blocks[block][slot];
+		blocks[block][slot] = null;
+		heads[block] = (slot + 1) & blockMask;
+		return data;
+	}
+
+	private void ensureCapacity(int minSize) {
+
+		int blocksNeeded = (minSize + blockMask) >>> blockBits;
+
+		// keep the block size near sqrt(n): once there are more than 2 * b blocks,
+		// double b so that both the in-block shift and the block cascade stay O(sqrt(n))
+		if(blocksNeeded > 2 * blockSize) {
+			rebuild(blockBits + 1);
+			blocksNeeded = (minSize + blockMask) >>> blockBits;
+		}
+		if(blocksNeeded > blocks.length) {
+			int newLength = Math.max(blocksNeeded, blocks.length * 2);
+			Object[][] newBlocks = new Object[newLength][];
+			int[] newHeads = new int[newLength];
+			System.arraycopy(blocks, 0, newBlocks, 0, blocks.length);
+			System.arraycopy(heads, 0, newHeads, 0, heads.length);
+			blocks = newBlocks;
+			heads = newHeads;
+		}
+		for(int j = 0; j < blocksNeeded; j++) {
+			if(blocks[j] == null) {
+				blocks[j] = new Object[blockSize];
+			}
+		}
+	}
+
+	// copies every element into a fresh layout with a different block size, O(n)
+	private void rebuild(int newBlockBits) {
+
+		Object[][] oldBlocks = blocks;
+		int[] oldHeads = heads;
+		int oldBits = blockBits;
+		int oldMask = blockMask;
+
+		init(newBlockBits, ((size + (1 << newBlockBits) - 1) >>> newBlockBits) + 1);
+		for(int i = 0; i < size; i++) {
+			int from = i >>> oldBits;
+			Object data = oldBlocks[from][(oldHeads[from] + i) & oldMask];
+			int to = i >>> blockBits;
+			if(blocks[to] == null) {
+				blocks[to] = new Object[blockSize];
+			}
+			blocks[to][i & blockMask] = data;
+		}
+	}
+
+	private void init(int bits, int blockCount) {
+
+		blockBits = bits;
+		blockSize = 1 << bits;
+		blockMask = blockSize - 1;
+		blocks = new Object[blockCount][];
+		heads = new int[blockCount];
+	}
+
+	private static void checkIndex(int index, int bound) {
+
+		if(index < 0 || index >= bound) {
+			throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+		}
+	}
+
+	public String toString() {
+
+		StringBuilder string = new StringBuilder("[");
+		for(int i = 0; i < size; i++) {
+			if(i > 0) {
+				string.append(", ");
+			}
+			string.append(get(i));
+		}
+		return string.append("]").toString();
+	}
+}
@@ -0,0 +1,292 @@
+package com.externalsort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import com.radixsort.RadixSort;
+
+// External merge sort = sorts a file that doesn't fit in memory.
+//
+// Records are fixed width (recordSize bytes) and ordered by a signed big-endian
+// 32-bit key at keyOffset. The sort is stable.
+//
+// 1. run generation: read chunkRecords records at a time, sort them in memory
+//    and write them back out sequentially as a sorted "run" file
+// 2. merge: repeatedly merge up to fanIn runs into one with a priority queue
+//    that always yields the smallest current key. Runs are read through
+//    memory-mapped windows of up to 64 MB; the output is written sequentially
+//    through a bufferSize buffer.
+//
+// Merged runs are deleted as soon as their merge completes, so temporary
+// disk usage stays below input size + the output of one merge.
+// The result is written to a temporary file next to output and renamed over it,
+// so output is never left half-written; if the sort fails, every temporary file is deleted.
+//
+// I/O complexity = O(n/B * (1 + log_fanIn(runs))) sequential block transfers
+public class ExternalSort {
+
+	private static final int KEY_BYTES = 4;
+	private static final int MAP_WINDOW = 1 << 26; // a mapping only costs address space, but each one is a kernel object
+
+	private final int recordSize;
+	private final int keyOffset;
+	private final int chunkRecords;
+	private final int fanIn;
+	private final int bufferSize;
+	private final int mapWindow;
+	private final Path tempDirectory;
+
+	/**
+	 * @param recordSize    Width of one record in bytes.
+	 * @param keyOffset     Position of the big-endian int key inside a record.
+	 * @param chunkRecords  Records sorted in memory per run, bounds the heap used.
+	 * @param fanIn         Maximum number of runs merged at once (at least 2).
+	 * @param bufferSize    Bytes per write buffer (rounded down to whole records).
+	 * @param tempDirectory Where run files are created.
+	 */
+	public ExternalSort(int recordSize, int keyOffset, int chunkRecords, int fanIn, int bufferSize, Path tempDirectory) {
+
+		if(recordSize < KEY_BYTES || keyOffset < 0 || keyOffset > recordSize - KEY_BYTES) {
+			throw new IllegalArgumentException("key must fit in the record: recordSize=" + recordSize + ", keyOffset=" + keyOffset);
+		}
+		if(chunkRecords < 1 || (long) chunkRecords * recordSize > Integer.MAX_VALUE - 8) {
+			throw new IllegalArgumentException("chunkRecords must be positive and fit in one array: " + chunkRecords);
+		}
+		if(fanIn < 2) {
+			throw new IllegalArgumentException("fanIn must be at least 2: " + fanIn);
+		}
+		if(bufferSize < recordSize) {
+			throw new IllegalArgumentException("bufferSize must hold at least one record: " + bufferSize);
+		}
+		this.recordSize = recordSize;
+		this.keyOffset = keyOffset;
+		this.chunkRecords = chunkRecords;
+		this.fanIn = fanIn;
+		this.bufferSize = bufferSize - bufferSize % recordSize;
+		this.mapWindow = Math.max(this.bufferSize, MAP_WINDOW - MAP_WINDOW % recordSize);
+		this.tempDirectory = tempDirectory;
+	}
+
+	public void sort(Path input, Path output) throws IOException {
+
+		List<Path> runs = createRuns(input);
+		List<Path> merged = new ArrayList<>();
+		Path directory = output.toAbsolutePath().getParent();
+		try {
+			if(runs.isEmpty()) {
+				runs.add(Files.createTempFile(tempDirectory, "run", ".bin")); // empty input, empty run
+			}
+			// each round merges neighbouring runs, fanIn at a time, so equal keys
+			// always meet in input order and the sort stays stable
+			while(runs.size() > 1) {
+				boolean lastRound = runs.size() <= fanIn;
+				while(!runs.isEmpty()) {
+					List<Path> group = runs.subList(0, Math.min(fanIn, runs.size()));
+					if(group.size() == 1) {
+						merged.add(group.get(0));
+					}
+					else {
+						// the last merge writes next to output, so publishing it is a rename
+						Path target = lastRound ? Files.createTempFile(directory, "sort", ".tmp")
+								: Files.createTempFile(tempDirectory, "run", ".bin");
+						merged.add(target);
+						merge(group, target);
+						for(Path run : group) {
+							Files.deleteIfExists(run);
+						}
+					}
+					group.clear();
+				}
+				runs.addAll(merged);
+				merged.clear();
+			}
+
+			// output only ever appears complete: the result is renamed over it in one step
+			Path result = runs.get(0);
+			if(!directory.equals(result.toAbsolutePath().getParent())) {
+				Path staged = Files.createTempFile(directory, "sort", ".tmp");
+				merged.add(staged);
+				Files.move(result, staged, StandardCopyOption.REPLACE_EXISTING);
+				runs.clear();
+				result = staged;
+			}
+			Files.move(result, output, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			runs.clear();
+			merged.clear();
+		}
+		catch(IOException | RuntimeException e) {
+			// every run and every finished or half-written merge output is still listed here
+			for(Path run : runs) {
+				Files.deleteIfExists(run);
+			}
+			for(Path run : merged) {
+				Files.deleteIfExists(run);
+			}
+			throw e;
+		}
+	}
+
+	// reads the input one chunk at a time and writes each chunk out as a sorted run
+	private List<Path> createRuns(Path input) throws IOException {
+
+		List<Path> runs = new ArrayList<>();
+		try(FileChannel in = FileChannel.open(input, StandardOpenOption.READ)) {
+
+			long fileSize = in.size();
+			if(fileSize % recordSize != 0) {
+				throw new IOException(input + " is not a whole number of " + recordSize + "-byte records");
+			}
+			int records = (int) Math.min(chunkRecords, fileSize / recordSize);
+			ByteBuffer chunk = ByteBuffer.allocate(records * recordSize);
+			long[] order = new long[records];
+			ByteBuffer out = ByteBuffer.allocateDirect(bufferSize);
+
+			try {
+				while(true) {
+					chunk.clear();
+					while(chunk.hasRemaining() && in.read(chunk) > 0) {
+						// keep reading until the chunk is full or the file ends
+					}
+					int count = chunk.position() / recordSize;
+					if(count == 0) {
+						break;
+					}
+
+					// key in the high half, position in the low half: sorting the longs
+					// sorts by key and keeps equal keys in input order
+					byte[] bytes = chunk.array();
+					for(int i = 0; i < count; i++) {
+						order[i] = ((long) chunk.getInt(i * recordSize + keyOffset) << 32) | i;
+					}
+					RadixSort.sort(order, 0, count);
+
+					Path run = Files.createTempFile(tempDirectory, "run", ".bin");
+					runs.add(run);
+					try(FileChannel runChannel = FileChannel.open(run, StandardOpenOption.WRITE)) {
+						out.clear();
+						for(int i = 0; i < count; i++) {
+							if(out.remaining() < recordSize) {
+								writeFully(runChannel, out);
+							}
+							out.put(bytes, (int) order[i] * recordSize, recordSize);
+						}
+						writeFully(runChannel, out);
+					}
+				}
+			}
+			catch(IOException | RuntimeException e) {
+				for(Path run : runs) {
+					Files.deleteIfExists(run);
+				}
+				throw e;
+			}
+		}
+		return runs;
+	}
+
+	private void merge(List<Path> group, Path output) throws IOException {
+
+		List<RunReader> readers = new ArrayList<>();
+		try(FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+				StandardOpenOption.TRUNCATE_EXISTING)) {
+
+			PriorityQueue<RunReader> queue = new PriorityQueue<>(group.size(), (a, b) -> {
+				int compare = Integer.compare(a.key, b.key);
+				// equal keys come from the earlier run first, which keeps the sort stable
+				return compare != 0 ? compare : Integer.compare(a.number, b.number);
+			});
+			for(Path run : group) {
+				RunReader reader = new RunReader(run, readers.size());
+				readers.add(reader);
+				if(reader.advance()) {
+					queue.offer(reader);
+				}
+			}
+
+			ByteBuffer buffer = ByteBuffer.allocateDirect(bufferSize);
+			while(!queue.isEmpty()) {
+				RunReader smallest = queue.poll();
+				if(buffer.remaining() < recordSize) {
+					writeFully(out, buffer);
+				}
+				smallest.copyRecord(buffer);
+				if(smallest.advance()) {
+					queue.offer(smallest);
+				}
+			}
+			writeFully(out, buffer);
+		}
+		finally {
+			for(RunReader reader : readers) {
+				reader.close();
+			}
+		}
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+
+		buffer.flip();
+		while(buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		buffer.clear();
+	}
+
+	// Sequential reader over one run, mapping one window of the file at a time.
+	private final class RunReader {
+
+		final int number;
+		int key;
+
+		private final FileChannel channel;
+		private final long size;
+		private long windowStart;
+		private MappedByteBuffer window;
+		private int recordStart = -1; // position of the current record in window
+
+		RunReader(Path run, int number) throws IOException {
+			this.number = number;
+			this.channel = FileChannel.open(run, StandardOpenOption.READ);
+			this.size = channel.size();
+		}
+
+		// moves to the next record, returns false when the run is exhausted
+		boolean advance() throws IOException {
+
+			int next = recordStart + (recordStart < 0 ? 1 : recordSize);
+			if(window == null || next >= window.limit()) {
+				long start = window == null ? 0 : windowStart + window.limit();
+				if(start >= size) {
+					return false;
+				}
+				windowStart = start;
+				window = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(mapWindow, size - start));
+				next = 0;
+			}
+			recordStart = next;
+			key = window.getInt(recordStart + keyOffset);
+			return true;
+		}
+
+		void copyRecord(ByteBuffer target) {
+
+			window.limit(recordStart + recordSize).position(recordStart);
+			target.put(window);
+			window.limit(window.capacity());
+		}
+
+		void close() throws IOException {
+			window = null;
+			channel.close();
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package com.externalsort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+
+public class Main {
+
+	public static void main(String[] args) throws IOException {
+
+		// external sort = sorting data that is too big for memory.
+		// sort memory-sized pieces ("runs") one at a time and write them to disk,
+		// then merge the sorted runs into one output file
+
+		// 100,000 records of 16 bytes: a 4 byte key followed by 12 bytes of payload
+		int recordSize = 16;
+		int records = 100_000;
+
+		Path directory = Files.createTempDirectory("externalsort");
+		Path input = directory.resolve("input.bin");
+		Path output = directory.resolve("output.bin");
+
+		Random random = new Random();
+		ByteBuffer data = ByteBuffer.allocate(records * recordSize);
+		for(int i = 0; i < records; i++) {
+			data.putInt(random.nextInt());
+			data.putLong(i);
+			data.putInt(0);
+		}
+		Files.write(input, data.array());
+
+		// 10,000 records per run -> 10 runs, merged 4 at a time
+		ExternalSort sorter = new ExternalSort(recordSize, 0, 10_000, 4, 64 * 1024, directory);
+		sorter.sort(input, output);
+
+		ByteBuffer sorted = ByteBuffer.wrap(Files.readAllBytes(output));
+		boolean inOrder = true;
+		for(int i = 1; i < records; i++) {
+			if(sorted.getInt((i - 1) * recordSize) > sorted.getInt(i * recordSize)) {
+				inOrder = false;
+			}
+		}
+		System.out.println("records: " + sorted.capacity() / recordSize);
+		System.out.println("sorted: " + inOrder);
+
+		// search the sorted file in place instead of reading it into memory
+		try(SortedFileIndex index = new SortedFileIndex(output, recordSize, 0)) {
+			int key = sorted.getInt(records / 2 * recordSize);
+			System.out.println("first record with key " + key + ": " + index.indexOf(key));
+
+			int count = 0;
+			SortedFileIndex.Cursor cursor = index.range(0, 1_000_000);
+			while(cursor.next()) {
+				count++;
+			}
+			System.out.println("records with keys in [0, 1000000]: " + count);
+		}
+
+		Files.delete(input);
+		Files.delete(output);
+		Files.delete(directory);
+	}
+}
@@ -0,0 +1,325 @@
+package com.externalsort;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+// Searches a sorted file of fixed-width records (the format ExternalSort writes)
+// without loading it: the file is memory-mapped and the OS pages in what is read.
+//
+// - the file is mapped in segments of up to 1 GB (a MappedByteBuffer is int-indexed),
+//   cut at record boundaries so no record spans two segments
+// - the in-heap top level ("sparse level") holds the key of the first record of every
+//   pagesPerSample-th disk page. A lookup binary searches those keys in memory and then
+//   pagesPerSample pages of the file: with the default of 1, at most one or two page
+//   faults however large the file is
+// - building the sparse level reads one key per sample, which for pagesPerSample = 1
+//   touches every page of the file. Given a sparseFile, it is built once and saved there;
+//   later opens only read that small file, as long as the data file's size and
+//   modification time still match. Saving is best effort: if the file can't be written
+//   (read-only directory) the index still opens. Without a sparseFile nothing is ever
+//   written. A larger pagesPerSample makes both the build and the sparse level cheaper,
+//   at log2(pagesPerSample) more page faults per lookup.
+// - range scans walk the mapping front to back, which the OS readahead turns
+//   into large sequential reads
+//
+// Only the sampled keys are checked for order while building; checkSorted reads the
+// whole file if that isn't enough. The file must not change while the index is open.
+// Java can't unmap a file explicitly: close() drops the index's references to the
+// mappings, and the GC releases them once no Cursor or copy refers to them either.
+//
+// lookup = O(log(samples)) in memory + O(log(records per sample)) in the file
+// space complexity = 4 bytes per sample
+public class SortedFileIndex implements AutoCloseable {
+
+	private static final int KEY_BYTES = 4;
+	private static final int PAGE_SIZE = 4096;
+	private static final long MAX_SEGMENT = 1L << 30;
+	private static final int SPARSE_MAGIC = 0x53464958; // "SFIX"
+	private static final int SPARSE_HEADER = 4 * 4 + 3 * 8;
+
+	private final int recordSize;
+	private final int keyOffset;
+	private final long records;
+	private final int recordsPerSegment;
+	private MappedByteBuffer[] segments; // null once closed
+	private final int recordsPerSample;
+	private final int[] sampleKeys;     // sampleKeys[j] = key of record j * recordsPerSample
+
+	/**
+	 * Samples every page and keeps the sparse level in memory only, nothing is written.
+	 *
+	 * @param file       Sorted file of fixed-width records.
+	 * @param recordSize Width of one record in bytes.
+	 * @param keyOffset  Position of the big-endian int key inside a record.
+	 */
+	public SortedFileIndex(Path file, int recordSize, int keyOffset) throws IOException {
+		this(file, recordSize, keyOffset, 1, null);
+	}
+
+	/**
+	 * @param file           Sorted file of fixed-width records.
+	 * @param recordSize     Width of one record in bytes.
+	 * @param keyOffset      Position of the big-endian int key inside a record.
+	 * @param pagesPerSample Disk pages covered by one key of the sparse level.
+	 * @param sparseFile     Where the sparse level is saved and reloaded from (e.g. file + ".sparse"),
+	 *                       null to always rebuild it and write nothing.
+	 */
+	public SortedFileIndex(Path file, int recordSize, int keyOffset, int pagesPerSample, Path sparseFile) throws IOException {
+		this(file, recordSize, keyOffset, pagesPerSample, sparseFile, MAX_SEGMENT);
+	}
+
+	SortedFileIndex(Path file, int recordSize, int keyOffset, int pagesPerSample, Path sparseFile, long maxSegment) throws IOException {
+
+		if(recordSize < KEY_BYTES || keyOffset < 0 || keyOffset > recordSize - KEY_BYTES) {
+			throw new IllegalArgumentException("key must fit in the record: recordSize=" + recordSize + ", keyOffset=" + keyOffset);
+		}
+		if(recordSize > maxSegment) {
+			throw new IllegalArgumentException("record larger than a mapped segment: " + recordSize);
+		}
+		if(pagesPerSample < 1) {
+			throw new IllegalArgumentException("pagesPerSample must be positive: " + pagesPerSample);
+		}
+		this.recordSize = recordSize;
+		this.keyOffset = keyOffset;
+		this.recordsPerSegment = (int) (maxSegment / recordSize);
+		this.recordsPerSample = (int) Math.min(Integer.MAX_VALUE, Math.max(1, (long) pagesPerSample * PAGE_SIZE / recordSize));
+
+		long size;
+		try(FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+
+			size = channel.size();
+			if(size % recordSize != 0) {
+				throw new IOException(file + " is not a whole number of " + recordSize + "-byte records");
+			}
+			this.records = size / recordSize;
+
+			int segmentCount = (int) ((records + recordsPerSegment - 1) / recordsPerSegment);
+			this.segments = new MappedByteBuffer[segmentCount];
+			long segmentBytes = (long) recordsPerSegment * recordSize;
+			for(int s = 0; s < segmentCount; s++) {
+				long start = s * segmentBytes;
+				segments[s] = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(segmentBytes, size - start));
+			}
+		}
+		// the mappings stay valid after the channel is closed
+
+		long samples = (records + recordsPerSample - 1) / recordsPerSample;
+		if(samples > Integer.MAX_VALUE - 8) {
+			throw new IOException(file + " has too many samples for the in-memory sparse level: " + samples);
+		}
+		long modified = Files.getLastModifiedTime(file).toMillis();
+		int[] loaded = sparseFile == null ? null : loadSparse(sparseFile, size, modified, (int) samples);
+		if(loaded != null) {
+			this.sampleKeys = loaded;
+		}
+		else {
+			this.sampleKeys = new int[(int) samples];
+			for(int j = 0; j < sampleKeys.length; j++) {
+				sampleKeys[j] = keyAt((long) j * recordsPerSample);
+				if(j > 0 && sampleKeys[j - 1] > sampleKeys[j]) {
+					throw new IOException(file + " is not sorted near record " + (long) j * recordsPerSample);
+				}
+			}
+			if(sparseFile != null) {
+				try {
+					saveSparse(sparseFile, size, modified);
+				}
+				catch(IOException e) {
+					// only a cache: the next open builds the sparse level again
+				}
+			}
+		}
+	}
+
+	// drops the mappings, the index can't be used afterwards
+	@Override
+	public void close() {
+		segments = null;
+	}
+
+	// reads the whole file and throws if a key is smaller than the one before it
+	public void checkSorted() throws IOException {
+
+		for(long i = 1; i < records; i++) {
+			if(keyAt(i - 1) > keyAt(i)) {
+				throw new IOException("records are not sorted at record " + i);
+			}
+		}
+	}
+
+	// the saved sparse level, or null if it is missing or was built for another file or layout
+	private int[] loadSparse(Path sparseFile, long size, long modified, int samples) throws IOException {
+
+		if(!Files.exists(sparseFile) || Files.size(sparseFile) != SPARSE_HEADER + 4L * samples) {
+			return null;
+		}
+		ByteBuffer data = ByteBuffer.wrap(Files.readAllBytes(sparseFile));
+		if(data.getInt() != SPARSE_MAGIC || data.getInt() != recordSize || data.getInt() != keyOffset
+				|| data.getInt() != recordsPerSample || data.getLong() != size || data.getLong() != modified
+				|| data.getLong() != samples) {
+			return null;
+		}
+		int[] keys = new int[samples];
+		data.asIntBuffer().get(keys);
+		return keys;
+	}
+
+	// written to a temporary file first, so a crash never leaves a half-written sparse level
+	private void saveSparse(Path sparseFile, long size, long modified) throws IOException {
+
+		ByteBuffer data = ByteBuffer.allocate(SPARSE_HEADER + 4 * sampleKeys.length);
+		data.putInt(SPARSE_MAGIC).putInt(recordSize).putInt(keyOffset).putInt(recordsPerSample)
+				.putLong(size).putLong(modified).putLong(sampleKeys.length);
+		data.asIntBuffer().put(sampleKeys);
+
+		Path directory = sparseFile.toAbsolutePath().getParent();
+		Path temp = Files.createTempFile(directory, "sparse", ".tmp");
+		try {
+			Files.write(temp, data.array());
+			Files.move(temp, sparseFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		}
+		finally {
+			Files.deleteIfExists(temp);
+		}
+	}
+
+	// number of records in the file
+	public long size() {
+		return records;
+	}
+
+	public int keyAt(long index) {
+
+		checkIndex(index);
+		return segments[(int) (index / recordsPerSegment)].getInt((int) (index % recordsPerSegment) * recordSize + keyOffset);
+	}
+
+	// copies record index into target
+	public void readRecord(long index, ByteBuffer target) {
+
+		checkIndex(index);
+		ByteBuffer segment = segments[(int) (index / recordsPerSegment)].duplicate();
+		int start = (int) (index % recordsPerSegment) * recordSize;
+		segment.limit(start + recordSize).position(start);
+		target.put(segment);
+	}
+
+	// index of the first record with a key >= key, size() if there is none
+	public long lowerBound(int key) {
+		return search(key, false);
+	}
+
+	// index of the first record with a key > key, size() if there is none
+	public long upperBound(int key) {
+		return search(key, true);
+	}
+
+	// index of the first record with key == key, or -1 if there is none
+	public long indexOf(int key) {
+
+		long index = lowerBound(key);
+		return index < records && keyAt(index) == key ? index : -1;
+	}
+
+	// records with fromKey <= key <= toKey, in file order
+	public Cursor range(int fromKey, int toKey) {
+
+		long from = lowerBound(fromKey);
+		long to = fromKey <= toKey ? upperBound(toKey) : from;
+		return new Cursor(from, Math.max(from, to));
+	}
+
+	// first record whose key is > key (upper == true) or >= key (upper == false)
+	private long search(int key, boolean upper) {
+
+		// first sample past key: the answer is in the sample before it, or is that sample itself
+		int low = 0;
+		int high = sampleKeys.length;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(upper ? sampleKeys[middle] <= key : sampleKeys[middle] < key) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		if(low == 0) {
+			return 0;
+		}
+		long first = (long) (low - 1) * recordsPerSample + 1;
+		long last = Math.min(records, (long) low * recordsPerSample);
+		while(first < last) {
+			long middle = (first + last) >>> 1;
+			int value = keyAt(middle);
+			if(upper ? value <= key : value < key) {
+				first = middle + 1;
+			}
+			else {
+				last = middle;
+			}
+		}
+		return first;
+	}
+
+	private void checkIndex(long index) {
+
+		if(segments == null) {
+			throw new IllegalStateException("index is closed");
+		}
+		if(index < 0 || index >= records) {
+			throw new IndexOutOfBoundsException("record " + index + " out of bounds for " + records + " records");
+		}
+	}
+
+	// Sequential walk over records [from, to) of the file.
+	//
+	//	SortedFileIndex.Cursor cursor = index.range(10, 20);
+	//	while(cursor.next()) {
+	//		cursor.key(); cursor.copyRecord(buffer);
+	//	}
+	public final class Cursor {
+
+		private final long to;
+		private long index;
+
+		private Cursor(long from, long to) {
+			this.index = from - 1;
+			this.to = to;
+		}
+
+		// moves to the next record, returns false when the range is exhausted
+		public boolean next() {
+
+			if(index + 1 >= to) {
+				index = to;
+				return false;
+			}
+			index++;
+			return true;
+		}
+
+		public long index() {
+			return index;
+		}
+
+		public int key() {
+			return keyAt(index);
+		}
+
+		public void copyRecord(ByteBuffer target) {
+			readRecord(index, target);
+		}
+
+		// records left after the current one
+		public long remaining() {
+			return Math.max(0, to - index - 1);
+		}
+	}
+}
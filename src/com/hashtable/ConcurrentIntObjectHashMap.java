@@ -0,0 +1,391 @@
+package com.hashtable;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Thread-safe map from int keys to objects, built like java.util.concurrent.ConcurrentHashMap.
+//
+// Hashtable takes one lock for every get and put, so threads line up behind each other.
+// Here:
+//
+// - get never locks and never waits: bins are read from an AtomicReferenceArray and
+//   chains are linked through volatile fields, so a reader always sees complete nodes.
+//   Its cost is bounded by the chain length, whatever the writers are doing (wait-free).
+// - put/remove on an empty bin is one compareAndSet. On a non-empty bin the writer
+//   locks only the first node of that bin, so writers to different bins don't meet.
+// - resizing is incremental and cooperative: the table is split into strides of bins,
+//   and every writer that runs into a resize claims a stride and moves it to the new
+//   table. A moved bin is replaced by a ForwardingNode that sends readers and writers
+//   to the new table, so readers keep going through the whole resize.
+//   Chains are copied, not relinked, so a reader still walking an old chain is never lost.
+// - size is kept in a LongAdder, which spreads the counter over cells instead of
+//   making every writer fight over one AtomicLong. Reading it (sum) walks every cell,
+//   so put only compares it with the resize threshold when the insert made a chain of
+//   RESIZE_CHECK_CHAIN nodes, or on a random 1 in RESIZE_CHECK_SAMPLE inserts. A resize
+//   can start a few inserts past the threshold, which only makes some chains a bit longer.
+//
+// null values are not allowed; get returns null for a missing key.
+// forEach is weakly consistent: it sees every mapping that exists for the whole
+// traversal, and may or may not see concurrent changes.
+public class ConcurrentIntObjectHashMap<V> {
+
+	public interface EntryConsumer<V> {
+		void accept(int key, V value);
+	}
+
+	private static final int MIN_CAPACITY = 16;
+	private static final int MAX_CAPACITY = 1 << 30;
+	private static final int MIN_STRIDE = 16;
+	private static final int RESIZE_CHECK_CHAIN = 3;
+	private static final int RESIZE_CHECK_SAMPLE = 16;   // power of 2
+
+	private volatile AtomicReferenceArray<Node<V>> table;
+	private volatile Resize<V> resize;          // the resize in progress, null if there is none
+	private final Object resizeLock = new Object();
+	private final LongAdder count = new LongAdder();
+
+	public ConcurrentIntObjectHashMap() {
+		this(MIN_CAPACITY);
+	}
+
+	public ConcurrentIntObjectHashMap(int expectedSize) {
+
+		if(expectedSize < 0) {
+			throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+		}
+		int capacity = MIN_CAPACITY;
+		while(capacity < MAX_CAPACITY && capacity - (capacity >>> 2) < expectedSize) {
+			capacity <<= 1;
+		}
+		this.table = new AtomicReferenceArray<>(capacity);
+	}
+
+	public V get(int key) {
+
+		int hash = spread(key);
+		AtomicReferenceArray<Node<V>> tab = table;
+		while(true) {
+			Node<V> node = tab.get(hash & (tab.length() - 1));
+			if(node instanceof ForwardingNode) {
+				tab = ((ForwardingNode<V>) node).resize.to; // bin already moved, look in the new table
+				continue;
+			}
+			for(; node != null; node = node.next) {
+				if(node.key == key) {
+					return node.value;
+				}
+			}
+			return null;
+		}
+	}
+
+	public boolean containsKey(int key) {
+		return get(key) != null;
+	}
+
+	// returns the previous value, or null if there was none
+	public V put(int key, V value) {
+		return put(key, value, false);
+	}
+
+	// adds the mapping only if key is absent, returns the current value or null if it was added
+	public V putIfAbsent(int key, V value) {
+		return put(key, value, true);
+	}
+
+	// returns the removed value, or null if key wasn't in the map
+	public V remove(int key) {
+
+		int hash = spread(key);
+		AtomicReferenceArray<Node<V>> tab = table;
+		while(true) {
+			int bin = hash & (tab.length() - 1);
+			Node<V> first = tab.get(bin);
+			if(first == null) {
+				return null;
+			}
+			if(first instanceof ForwardingNode) {
+				tab = helpResize((ForwardingNode<V>) first);
+				continue;
+			}
+			synchronized(first) {
+				if(tab.get(bin) != first) {
+					continue; // the bin changed before we got the lock, look again
+				}
+				Node<V> previous = null;
+				for(Node<V> node = first; node != null; previous = node, node = node.next) {
+					if(node.key == key) {
+						if(previous == null) {
+							tab.set(bin, node.next);
+						}
+						else {
+							previous.next = node.next;
+						}
+						count.decrement();
+						return node.value;
+					}
+				}
+				return null;
+			}
+		}
+	}
+
+	public int size() {
+
+		long size = count.sum();
+		return size < 0 ? 0 : (int) Math.min(size, Integer.MAX_VALUE);
+	}
+
+	public boolean isEmpty() {
+		return count.sum() <= 0;
+	}
+
+	public void forEach(EntryConsumer<? super V> action) {
+
+		AtomicReferenceArray<Node<V>> tab = table;
+		for(int bin = 0; bin < tab.length(); bin++) {
+			forEach(tab, bin, action);
+		}
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder builder = new StringBuilder("{");
+		forEach((key, value) -> {
+			if(builder.length() > 1) {
+				builder.append(", ");
+			}
+			builder.append(key).append('=').append(value);
+		});
+		return builder.append('}').toString();
+	}
+
+	private V put(int key, V value, boolean onlyIfAbsent) {
+
+		if(value == null) {
+			throw new NullPointerException("null values are not supported");
+		}
+		int hash = spread(key);
+		AtomicReferenceArray<Node<V>> tab = table;
+		int chain; // length of the bin's chain after the insert
+		while(true) {
+			int bin = hash & (tab.length() - 1);
+			Node<V> first = tab.get(bin);
+			if(first == null) {
+				if(tab.compareAndSet(bin, null, new Node<>(key, value, null))) {
+					chain = 1;
+					break;
+				}
+				continue; // another writer got there first
+			}
+			if(first instanceof ForwardingNode) {
+				tab = helpResize((ForwardingNode<V>) first);
+				continue;
+			}
+			synchronized(first) {
+				if(tab.get(bin) != first) {
+					continue;
+				}
+				Node<V> last = null;
+				chain = 1;
+				for(Node<V> node = first; node != null; last = node, node = node.next, chain++) {
+					if(node.key == key) {
+						V previous = node.value;
+						if(!onlyIfAbsent) {
+							node.value = value;
+						}
+						return previous;
+					}
+				}
+				last.next = new Node<>(key, value, null);
+			}
+			break;
+		}
+		count.increment();
+		boolean check = chain >= RESIZE_CHECK_CHAIN
+				|| (ThreadLocalRandom.current().nextInt() & (RESIZE_CHECK_SAMPLE - 1)) == 0;
+		if(check && count.sum() > threshold(tab)) {
+			startResize(tab);
+		}
+		Resize<V> current = resize;
+		if(current != null) {
+			current.transfer();
+		}
+		return null;
+	}
+
+	private void startResize(AtomicReferenceArray<Node<V>> tab) {
+
+		if(tab.length() >= MAX_CAPACITY) {
+			return;
+		}
+		// only the start is locked; readers and the moving of bins don't take this lock
+		synchronized(resizeLock) {
+			if(table == tab && resize == null) {
+				resize = new Resize<>(this, tab);
+			}
+		}
+	}
+
+	private AtomicReferenceArray<Node<V>> helpResize(ForwardingNode<V> forwarding) {
+
+		forwarding.resize.transfer();
+		return forwarding.resize.to;
+	}
+
+	// called by the thread that moved the last bin
+	private void finishResize(Resize<V> finished) {
+
+		table = finished.to;
+		resize = null;
+		if(count.sum() > threshold(finished.to)) {
+			startResize(finished.to); // grew again while the resize was running
+		}
+	}
+
+	private static <V> void forEach(AtomicReferenceArray<Node<V>> tab, int bin, EntryConsumer<? super V> action) {
+
+		Node<V> node = tab.get(bin);
+		if(node instanceof ForwardingNode) {
+			// the bin was split into bin and bin + old length of the new table
+			AtomicReferenceArray<Node<V>> to = ((ForwardingNode<V>) node).resize.to;
+			forEach(to, bin, action);
+			forEach(to, bin + tab.length(), action);
+			return;
+		}
+		for(; node != null; node = node.next) {
+			action.accept(node.key, node.value);
+		}
+	}
+
+	private static int threshold(AtomicReferenceArray<?> tab) {
+		return tab.length() - (tab.length() >>> 2);
+	}
+
+	private static int spread(int key) {
+
+		int h = key * 0x9E3779B9;
+		return h ^ (h >>> 16);
+	}
+
+	private static class Node<V> {
+
+		final int key;
+		volatile V value;
+		volatile Node<V> next;
+
+		Node(int key, V value, Node<V> next) {
+			this.key = key;
+			this.value = value;
+			this.next = next;
+		}
+	}
+
+	// marks a bin that has been moved to resize.to
+	private static final class ForwardingNode<V> extends Node<V> {
+
+		final Resize<V> resize;
+
+		ForwardingNode(Resize<V> resize) {
+			super(0, null, null);
+			this.resize = resize;
+		}
+	}
+
+	// State of one resize. Bins are claimed in strides from the top (transferIndex counts
+	// down), and the thread whose stride brings moved up to the table length finishes it.
+	// Each resize has its own counters, so a slow helper of an old resize can't
+	// claim bins of a newer one.
+	private static final class Resize<V> {
+
+		final ConcurrentIntObjectHashMap<V> map;
+		final AtomicReferenceArray<Node<V>> from;
+		final AtomicReferenceArray<Node<V>> to;
+		final ForwardingNode<V> forwarding;
+		final AtomicInteger transferIndex;
+		final AtomicInteger moved = new AtomicInteger();
+		final int stride;
+
+		Resize(ConcurrentIntObjectHashMap<V> map, AtomicReferenceArray<Node<V>> from) {
+
+			this.map = map;
+			this.from = from;
+			this.to = new AtomicReferenceArray<>(from.length() << 1);
+			this.forwarding = new ForwardingNode<>(this);
+			this.transferIndex = new AtomicInteger(from.length());
+			int cores = Runtime.getRuntime().availableProcessors();
+			this.stride = Math.max(MIN_STRIDE, from.length() / (8 * cores));
+		}
+
+		// moves strides of bins until none are left to claim
+		void transfer() {
+
+			while(true) {
+				int end = transferIndex.get();
+				if(end <= 0) {
+					return;
+				}
+				int start = Math.max(0, end - stride);
+				if(!transferIndex.compareAndSet(end, start)) {
+					continue;
+				}
+				for(int bin = end - 1; bin >= start; bin--) {
+					moveBin(bin);
+				}
+				if(moved.addAndGet(end - start) == from.length()) {
+					map.finishResize(this);
+					return;
+				}
+			}
+		}
+
+		private void moveBin(int bin) {
+
+			int length = from.length();
+			while(true) {
+				Node<V> first = from.get(bin);
+				if(first == null) {
+					if(from.compareAndSet(bin, null, forwarding)) {
+						return;
+					}
+					continue; // a writer just filled it, move it like any other bin
+				}
+				synchronized(first) {
+					if(from.get(bin) != first) {
+						continue;
+					}
+					// copy the chain into the two bins it splits into, keeping the order
+					Node<V> lowHead = null, lowTail = null, highHead = null, highTail = null;
+					for(Node<V> node = first; node != null; node = node.next) {
+						Node<V> copy = new Node<>(node.key, node.value, null);
+						if((spread(node.key) & length) == 0) {
+							if(lowTail == null) {
+								lowHead = copy;
+							}
+							else {
+								lowTail.next = copy;
+							}
+							lowTail = copy;
+						}
+						else {
+							if(highTail == null) {
+								highHead = copy;
+							}
+							else {
+								highTail.next = copy;
+							}
+							highTail = copy;
+						}
+					}
+					to.set(bin, lowHead);
+					to.set(bin + length, highHead);
+					from.set(bin, forwarding);
+					return;
+				}
+			}
+		}
+	}
+}
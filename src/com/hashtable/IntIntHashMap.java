@@ -0,0 +1,95 @@
+package com.hashtable;
+
+// Map from int keys to int values: two int[] and one control byte per slot,
+// about 10 bytes per mapping at the default load factor instead of ~50 for a
+// Hashtable<Integer, Integer> (Entry + 2 boxed Integers + table slot).
+// No boxing, no locking (not thread-safe). See SwissTable for how it works.
+public class IntIntHashMap extends SwissTable<int[]> {
+
+	public interface EntryConsumer {
+		void accept(int key, int value);
+	}
+
+	public IntIntHashMap() {
+		this(16, DEFAULT_LOAD_FACTOR);
+	}
+
+	public IntIntHashMap(int expectedSize) {
+		this(expectedSize, DEFAULT_LOAD_FACTOR);
+	}
+
+	public IntIntHashMap(int expectedSize, float loadFactor) {
+		super(expectedSize, loadFactor);
+	}
+
+	@Override
+	int[] newValues(int capacity) {
+		return new int[capacity];
+	}
+
+	public int getOrDefault(int key, int defaultValue) {
+
+		int slot = find(key);
+		return slot >= 0 ? values[slot] : defaultValue;
+	}
+
+	// returns the previous value, or 0 if there was none
+	public int put(int key, int value) {
+
+		int slot = find(key);
+		if(slot >= 0) {
+			int previous = values[slot];
+			values[slot] = value;
+			return previous;
+		}
+		// insertSlot may rehash, so values has to be read after it
+		slot = insertSlot(key);
+		values[slot] = value;
+		return 0;
+	}
+
+	// adds delta to the value of key (0 if absent) and returns the new value
+	public int addTo(int key, int delta) {
+
+		int slot = find(key);
+		if(slot < 0) {
+			slot = insertSlot(key);
+			values[slot] = 0;
+		}
+		return values[slot] += delta;
+	}
+
+	// returns true if key was in the map
+	public boolean remove(int key) {
+
+		int slot = find(key);
+		if(slot < 0) {
+			return false;
+		}
+		removeSlot(slot);
+		return true;
+	}
+
+	// visits every mapping in slot order
+	public void forEach(EntryConsumer action) {
+
+		for(int slot = 0; slot < keys.length; slot++) {
+			if(isFull(slot)) {
+				action.accept(keys[slot], values[slot]);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder builder = new StringBuilder("{");
+		forEach((key, value) -> {
+			if(builder.length() > 1) {
+				builder.append(", ");
+			}
+			builder.append(key).append('=').append(value);
+		});
+		return builder.append('}').toString();
+	}
+}
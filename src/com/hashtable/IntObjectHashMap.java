@@ -0,0 +1,102 @@
+package com.hashtable;
+
+import java.util.Arrays;
+
+// Map from int keys to objects: an int[] of keys, an Object[] of values and one
+// control byte per slot. Unlike Hashtable<Integer, V> there is no Entry node and
+// no Integer per key, and no lock (not thread-safe). See SwissTable for how it works.
+// null values are not allowed, get returns null for a missing key.
+public class IntObjectHashMap<V> extends SwissTable<Object[]> {
+
+	public interface EntryConsumer<V> {
+		void accept(int key, V value);
+	}
+
+	public IntObjectHashMap() {
+		this(16, DEFAULT_LOAD_FACTOR);
+	}
+
+	public IntObjectHashMap(int expectedSize) {
+		this(expectedSize, DEFAULT_LOAD_FACTOR);
+	}
+
+	public IntObjectHashMap(int expectedSize, float loadFactor) {
+		super(expectedSize, loadFactor);
+	}
+
+	@Override
+	Object[] newValues(int capacity) {
+		return new Object[capacity];
+	}
+
+	@SuppressWarnings("unchecked")
+	public V get(int key) {
+
+		int slot = find(key);
+		return slot >= 0 ? (V) values[slot] : null;
+	}
+
+	// returns the previous value, or null if there was none
+	@SuppressWarnings("unchecked")
+	public V put(int key, V value) {
+
+		if(value == null) {
+			throw new NullPointerException("null values are not supported");
+		}
+		int slot = find(key);
+		if(slot >= 0) {
+			V previous = (V) values[slot];
+			values[slot] = value;
+			return previous;
+		}
+		// insertSlot may rehash, so values has to be read after it
+		slot = insertSlot(key);
+		values[slot] = value;
+		return null;
+	}
+
+	// returns the removed value, or null if key wasn't in the map
+	@SuppressWarnings("unchecked")
+	public V remove(int key) {
+
+		int slot = find(key);
+		if(slot < 0) {
+			return null;
+		}
+		V previous = (V) values[slot];
+		values[slot] = null; // let the value be garbage collected
+		removeSlot(slot);
+		return previous;
+	}
+
+	// visits every mapping in slot order
+	@SuppressWarnings("unchecked")
+	public void forEach(EntryConsumer<? super V> action) {
+
+		for(int slot = 0; slot < keys.length; slot++) {
+			if(isFull(slot)) {
+				action.accept(keys[slot], (V) values[slot]);
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+
+		StringBuilder builder = new StringBuilder("{");
+		forEach((key, value) -> {
+			if(builder.length() > 1) {
+				builder.append(", ");
+			}
+			builder.append(key).append('=').append(value);
+		});
+		return builder.append('}').toString();
+	}
+
+	@Override
+	public void clear() {
+
+		super.clear();
+		Arrays.fill(values, null);
+	}
+}
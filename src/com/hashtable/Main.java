@@ -36,5 +36,21 @@ public class Main{
     	for(Integer key : table.keySet()) {
     		System.out.println(key.hashCode() % 10 + "\t" + key + "\t" + table.get(key));
     	}
+
+    	// same table without locks, boxed keys or Entry objects (see SwissTable)
+    	IntObjectHashMap<String> map = new IntObjectHashMap<>(10);
+
+    	map.put(100, "Spongebob");
+    	map.put(123, "Patrick");
+    	map.put(321, "Sandy");
+    	map.put(555, "Squidward");
+    	map.put(777, "Gary");
+
+    	map.forEach((key, value) -> System.out.println(key + "\t" + value));
+
+    	// thread-safe version: get never locks, put locks only one bucket
+    	ConcurrentIntObjectHashMap<String> concurrentMap = new ConcurrentIntObjectHashMap<>();
+    	map.forEach(concurrentMap::put);
+    	System.out.println(concurrentMap.get(321) + " " + concurrentMap.size());
     }
 }
\ No newline at end of file
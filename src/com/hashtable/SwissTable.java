@@ -0,0 +1,232 @@
+package com.hashtable;
+
+import java.util.Arrays;
+
+// Shared core of IntIntHashMap and IntObjectHashMap: open addressing over flat arrays
+// with one control byte per slot, laid out like Google's SwissTable.
+//
+// Slots are grouped 8 at a time. The 8 control bytes of a group are packed in one long:
+//
+//	0x80          empty
+//	0xFE          deleted (tombstone), keeps probe sequences that ran through it intact
+//	0x00 - 0x7F   full, holds the low 7 bits of the key's hash ("h2")
+//
+// The rest of the hash picks the first group; after that, groups are probed with
+// steps of 1, 2, 3, ... (triangular numbers), which visits every group once when the
+// group count is a power of two. Within a group, the long is compared against h2 in
+// all 8 bytes at once (SWAR = SIMD within a register), and only the slots whose
+// control byte matches are compared with the real key: 1 in 128 false matches.
+//
+// A lookup stops at the first group that still has an empty slot. Deleting turns a slot
+// back to empty only if its group already had one (so no probe ever had to run past it),
+// otherwise it becomes a tombstone. Tombstones are cleared by the next rehash.
+//
+// Keys live in an int[] and values in a parallel array of the subclass's type V,
+// so there is no Entry object and no boxing per mapping.
+abstract class SwissTable<V> {
+
+	static final float DEFAULT_LOAD_FACTOR = 7f / 8;
+
+	private static final byte EMPTY = (byte) 0x80;
+	private static final byte DELETED = (byte) 0xFE;
+
+	private static final long LSB = 0x0101010101010101L;
+	private static final long MSB = 0x8080808080808080L;
+	private static final long EMPTY_GROUP = MSB;   // 8 empty control bytes
+
+	private final float loadFactor;
+
+	long[] control;
+	int[] keys;
+	V values;
+	int size;
+	private int tombstones;
+	private int groupMask;
+	private int threshold;
+
+	SwissTable(int expectedSize, float loadFactor) {
+
+		if(expectedSize < 0) {
+			throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+		}
+		if(!(loadFactor > 0 && loadFactor < 1)) {
+			throw new IllegalArgumentException("loadFactor must be in (0, 1): " + loadFactor);
+		}
+		this.loadFactor = loadFactor;
+		allocate(capacityFor(expectedSize));
+	}
+
+	// allocates the subclass's value array for capacity slots
+	abstract V newValues(int capacity);
+
+	public int size() {
+		return size;
+	}
+
+	public boolean isEmpty() {
+		return size == 0;
+	}
+
+	public boolean containsKey(int key) {
+		return find(key) >= 0;
+	}
+
+	public void clear() {
+
+		Arrays.fill(control, EMPTY_GROUP);
+		size = 0;
+		tombstones = 0;
+	}
+
+	// slot of key, or -1 if it isn't in the table
+	final int find(int key) {
+
+		int hash = hash(key);
+		long pattern = (hash & 0x7F) * LSB;
+		int group = (hash >>> 7) & groupMask;
+		for(int step = 1; ; step++) {
+			long word = control[group];
+			for(long matches = matchByte(word, pattern); matches != 0; matches &= matches - 1) {
+				int slot = (group << 3) + (Long.numberOfTrailingZeros(matches) >>> 3);
+				if(keys[slot] == key) {
+					return slot;
+				}
+			}
+			if(matchEmpty(word) != 0) {
+				return -1;
+			}
+			group = (group + step) & groupMask;
+		}
+	}
+
+	// Slot for a key that isn't in the table yet: the first empty or deleted slot
+	// on its probe sequence. Grows or cleans up the table first if needed.
+	final int insertSlot(int key) {
+
+		int hash = hash(key);
+		int slot = freeSlot(hash);
+		if(control(slot) == EMPTY && size + tombstones + 1 > threshold) {
+			// using an empty slot would go over the load factor: grow, or only drop
+			// the tombstones if they are what fills the table
+			rehash(size + 1 > threshold / 2 ? (control.length << 3) << 1 : control.length << 3);
+			slot = freeSlot(hash);
+		}
+		if(control(slot) == DELETED) {
+			tombstones--;
+		}
+		setControl(slot, (byte) (hash & 0x7F));
+		keys[slot] = key;
+		size++;
+		return slot;
+	}
+
+	// marks a full slot as free again, the subclass clears its value
+	final void removeSlot(int slot) {
+
+		boolean groupHasEmpty = matchEmpty(control[slot >>> 3]) != 0;
+		setControl(slot, groupHasEmpty ? EMPTY : DELETED);
+		if(!groupHasEmpty) {
+			tombstones++;
+		}
+		size--;
+	}
+
+	final boolean isFull(int slot) {
+		return control(slot) >= 0;
+	}
+
+	final int capacity() {
+		return control.length << 3;
+	}
+
+	private int freeSlot(int hash) {
+
+		int group = (hash >>> 7) & groupMask;
+		for(int step = 1; ; step++) {
+			long free = control[group] & MSB; // empty and deleted both have the high bit set
+			if(free != 0) {
+				return (group << 3) + (Long.numberOfTrailingZeros(free) >>> 3);
+			}
+			group = (group + step) & groupMask;
+		}
+	}
+
+	private void rehash(int capacity) {
+
+		long[] oldControl = control;
+		int[] oldKeys = keys;
+		V oldValues = values;
+		allocate(capacity);
+
+		for(int slot = 0; slot < oldKeys.length; slot++) {
+			if((byte) (oldControl[slot >>> 3] >>> ((slot & 7) << 3)) >= 0) {
+				int hash = hash(oldKeys[slot]);
+				int target = freeSlot(hash);
+				setControl(target, (byte) (hash & 0x7F));
+				keys[target] = oldKeys[slot];
+				System.arraycopy(oldValues, slot, values, target, 1);
+			}
+		}
+	}
+
+	private void allocate(int capacity) {
+
+		control = new long[capacity >>> 3];
+		Arrays.fill(control, EMPTY_GROUP);
+		keys = new int[capacity];
+		values = newValues(capacity);
+		groupMask = control.length - 1;
+		// at least one slot always stays empty, so every probe sequence ends
+		threshold = Math.min(capacity - 1, (int) (capacity * loadFactor));
+		tombstones = 0;
+	}
+
+	private int capacityFor(int expectedSize) {
+
+		long needed = (long) Math.ceil(expectedSize / (double) loadFactor) + 1;
+		int capacity = 8;
+		while(capacity < needed) {
+			if(capacity == 1 << 30) {
+				throw new IllegalArgumentException("expectedSize too large: " + expectedSize);
+			}
+			capacity <<= 1;
+		}
+		return capacity;
+	}
+
+	private byte control(int slot) {
+		return (byte) (control[slot >>> 3] >>> ((slot & 7) << 3));
+	}
+
+	private void setControl(int slot, byte value) {
+
+		int shift = (slot & 7) << 3;
+		int group = slot >>> 3;
+		control[group] = (control[group] & ~(0xFFL << shift)) | ((value & 0xFFL) << shift);
+	}
+
+	// high bit set in every byte of word that equals the byte in pattern.
+	// Can report a false match in the byte after a real one, callers compare keys anyway.
+	private static long matchByte(long word, long pattern) {
+
+		long x = word ^ pattern;
+		return (x - LSB) & ~x & MSB;
+	}
+
+	// high bit set in every empty byte: 0x80 is the only control byte with bit 7 set and bit 1 clear
+	private static long matchEmpty(long word) {
+		return word & ~(word << 6) & MSB;
+	}
+
+	// murmur3's 32-bit finalizer, so keys like 0, 1, 2, ... spread over all groups
+	private static int hash(int key) {
+
+		int h = key;
+		h ^= h >>> 16;
+		h *= 0x85EBCA6B;
+		h ^= h >>> 13;
+		h *= 0xC2B2AE35;
+		h ^= h >>> 16;
+		return h;
+	}
+}
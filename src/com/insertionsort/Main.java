@@ -1,5 +1,7 @@
 package com.insertionsort;
 
+import com.quicksort.SortKernels;
+
 public class Main {
 
 	// Insertion sort = after comparing elements to the left,
@@ -23,13 +25,23 @@ public class Main {
 		}
 	}
 
-	private static void insertionSort(int[] array) {
+	public static void insertionSort(int[] array) {
+		insertionSort(array, 0, array.length);
+	}
+
+	// sorts array[from..to-1]
+	public static void insertionSort(int[] array, int from, int to) {
+
+		if (to - from <= SortKernels.NETWORK_MAX) {
+			SortKernels.sortSmall(array, from, to); // branch-free sorting network
+			return;
+		}
 
-		for (int i = 1; i < array.length; i++) {
+		for (int i = from + 1; i < to; i++) {
 			int temp = array[i];
 			int j = i - 1;
 
-			while (j >= 0 && array[j] > temp) {
+			while (j >= from && array[j] > temp) {
 				array[j + 1] = array[j];
 				j--;
 			}
@@ -0,0 +1,109 @@
+package com.interpolation;
+
+// Production version of the interpolation search in Main:
+//
+// 1. the probe is computed in long (int keys) or double (long keys), so
+//    (high - low) * (value - array[low]) can't overflow
+// 2. the probe only runs while array[low] < value <= array[high - 1], so the
+//    denominator array[high - 1] - array[low] is never 0
+// 3. guarded: a probe that doesn't cut the range at least in half is followed by
+//    a plain bisection step. Every two steps halve the range, so skewed data
+//    (exponential keys, long runs of one value) costs at most ~2 log(n) probes
+//    instead of n, while uniform data keeps the O(log(log(n))) of interpolation.
+//
+// run-time complexity = O(log(log(n))) on uniform keys, O(log(n)) worst case
+// space complexity = O(1)
+public class InterpolationSearch {
+
+	// index of the first element == value, or -1 if there is none
+	public static int indexOf(int[] sorted, int value) {
+
+		int index = lowerBound(sorted, value);
+		return index < sorted.length && sorted[index] == value ? index : -1;
+	}
+
+	public static int indexOf(long[] sorted, long value) {
+
+		int index = lowerBound(sorted, value);
+		return index < sorted.length && sorted[index] == value ? index : -1;
+	}
+
+	// index of the first element >= value, sorted.length if there is none
+	public static int lowerBound(int[] sorted, int value) {
+
+		// the answer is in [low, high]
+		int low = 0;
+		int high = sorted.length;
+		boolean bisect = false;
+
+		while(low < high) {
+
+			int first = sorted[low];
+			int last = sorted[high - 1];
+			if(first >= value) {
+				return low;
+			}
+			if(last < value) {
+				return high;
+			}
+			// first < value <= last
+			int probe;
+			if(bisect) {
+				probe = (low + high) >>> 1;
+			}
+			else {
+				// < 2^31 * 2^32, fits in a long
+				long offset = (long) (high - 1 - low) * ((long) value - first) / ((long) last - first);
+				probe = low + (int) offset;
+			}
+
+			int before = high - low;
+			if(sorted[probe] < value) {
+				low = probe + 1;
+			}
+			else {
+				high = probe;
+			}
+			bisect = !bisect && high - low > before / 2;
+		}
+		return low;
+	}
+
+	public static int lowerBound(long[] sorted, long value) {
+
+		int low = 0;
+		int high = sorted.length;
+		boolean bisect = false;
+
+		while(low < high) {
+
+			long first = sorted[low];
+			long last = sorted[high - 1];
+			if(first >= value) {
+				return low;
+			}
+			if(last < value) {
+				return high;
+			}
+			int probe;
+			if(bisect) {
+				probe = (low + high) >>> 1;
+			}
+			else {
+				// long differences can overflow, doubles can't (they only lose precision)
+				double fraction = ((double) value - first) / ((double) last - first);
+				probe = low + (int) Math.min(high - 1 - low, (long) (fraction * (high - 1 - low)));
+			}
+
+			int before = high - low;
+			if(sorted[probe] < value) {
+				low = probe + 1;
+			}
+			else {
+				high = probe;
+			}
+			bisect = !bisect && high - low > before / 2;
+		}
+		return low;
+	}
+}
@@ -0,0 +1,208 @@
+package com.interpolation;
+
+import java.util.Arrays;
+
+// Learned index = interpolation search with a model fitted to the real key distribution.
+//
+// Interpolation search assumes one straight line from the first to the last key.
+// Real keys rarely follow one line, but any sorted key set is close to a line
+// over short stretches. The index cuts the keys into segments and fits one line
+// per segment, so that the predicted position of every key is off by at most epsilon:
+//
+//	position(key) ~ start + slope * (key - firstKey)
+//
+// A lookup finds the segment (binary search over the segment first keys, which are
+// few and stay in cache), predicts the position and binary searches only the
+// 2 * epsilon + 1 elements around it: one or two cache lines instead of ~log(n) misses.
+//
+// Segments are fitted in one pass with a "shrinking cone": from the first point of a
+// segment, every new point narrows the range of slopes that keep all points within
+// epsilon. When the range becomes empty, a new segment starts at that point.
+// Besides every distinct key, the fit also covers key + 1 -> position of the next key,
+// so keys that aren't in the set (even after a long run of duplicates) are predicted
+// within epsilon too.
+//
+// The keys are not copied: the array must not change while the index is in use.
+//
+// build: O(n), lookup: O(log(segments) + log(epsilon))
+// space complexity = 20 bytes per segment
+public class LearnedIndex {
+
+	private final long[] longKeys;
+	private final int[] intKeys;
+	private final int size;
+	private final int epsilon;
+
+	private final long[] firstKeys;
+	private final double[] slopes;
+	private final int[] starts;       // position of the first key of every segment, plus size at the end
+
+	public LearnedIndex(long[] sortedKeys, int epsilon) {
+		this(sortedKeys, null, sortedKeys.length, epsilon);
+	}
+
+	public static LearnedIndex of(int[] sortedKeys, int epsilon) {
+		return new LearnedIndex(null, sortedKeys, sortedKeys.length, epsilon);
+	}
+
+	private LearnedIndex(long[] longKeys, int[] intKeys, int size, int epsilon) {
+
+		if(epsilon < 1) {
+			throw new IllegalArgumentException("epsilon must be positive: " + epsilon);
+		}
+		this.longKeys = longKeys;
+		this.intKeys = intKeys;
+		this.size = size;
+		this.epsilon = epsilon;
+		for(int i = 1; i < size; i++) {
+			if(keyAt(i - 1) > keyAt(i)) {
+				throw new IllegalArgumentException("keys are not sorted at index " + i);
+			}
+		}
+
+		Builder builder = new Builder(epsilon);
+		for(int i = 0; i < size; ) {
+			long key = keyAt(i);
+			int next = i + 1;
+			while(next < size && keyAt(next) == key) {
+				next++;
+			}
+			builder.add(key, i);
+			if(key != Long.MAX_VALUE && (next == size || keyAt(next) != key + 1)) {
+				builder.add(key + 1, next);
+			}
+			i = next;
+		}
+		builder.finish();
+
+		int segments = builder.count;
+		this.firstKeys = Arrays.copyOf(builder.firstKeys, segments);
+		this.slopes = Arrays.copyOf(builder.slopes, segments);
+		this.starts = Arrays.copyOf(builder.starts, segments + 1);
+		this.starts[segments] = size;
+	}
+
+	public int size() {
+		return size;
+	}
+
+	public int segmentCount() {
+		return firstKeys.length;
+	}
+
+	// index of the first key == key, or -1 if there is none
+	public int indexOf(long key) {
+
+		int index = lowerBound(key);
+		return index < size && keyAt(index) == key ? index : -1;
+	}
+
+	// index of the first key >= key, size() if there is none
+	public int lowerBound(long key) {
+
+		int segment = segmentOf(key);
+		if(segment < 0) {
+			return 0; // smaller than every key
+		}
+		double predicted = starts[segment] + slopes[segment] * ((double) key - firstKeys[segment]);
+		int position = (int) Math.max(starts[segment], Math.min(starts[segment + 1], predicted));
+
+		int low = Math.max(0, position - epsilon);
+		int high = Math.min(size, position + epsilon + 1);
+		if((low > 0 && keyAt(low - 1) >= key) || (high < size && keyAt(high) < key)) {
+			// only rounding on huge key ranges can get here, fall back to the whole array
+			low = 0;
+			high = size;
+		}
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(keyAt(middle) < key) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	// last segment whose first key is <= key, -1 if there is none
+	private int segmentOf(long key) {
+
+		int low = 0;
+		int high = firstKeys.length;
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(firstKeys[middle] <= key) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low - 1;
+	}
+
+	private long keyAt(int index) {
+		return intKeys != null ? intKeys[index] : longKeys[index];
+	}
+
+	// shrinking-cone fit over points (key, position) with increasing keys
+	private static final class Builder {
+
+		private final int epsilon;
+
+		long[] firstKeys = new long[16];
+		double[] slopes = new double[16];
+		int[] starts = new int[17];
+		int count;
+
+		private long originKey;
+		private int originPosition;
+		private double lowSlope;
+		private double highSlope;
+		private boolean open;
+
+		Builder(int epsilon) {
+			this.epsilon = epsilon;
+		}
+
+		void add(long key, int position) {
+
+			if(open) {
+				double dx = (double) key - originKey;
+				double low = (position - epsilon - originPosition) / dx;
+				double high = (position + epsilon - originPosition) / dx;
+				if(Math.max(low, lowSlope) <= Math.min(high, highSlope)) {
+					lowSlope = Math.max(low, lowSlope);
+					highSlope = Math.min(high, highSlope);
+					return;
+				}
+				finish();
+			}
+			originKey = key;
+			originPosition = position;
+			lowSlope = 0;
+			highSlope = Double.POSITIVE_INFINITY;
+			open = true;
+		}
+
+		void finish() {
+
+			if(!open) {
+				return;
+			}
+			if(count == firstKeys.length) {
+				firstKeys = Arrays.copyOf(firstKeys, count * 2);
+				slopes = Arrays.copyOf(slopes, count * 2);
+				starts = Arrays.copyOf(starts, count * 2 + 1);
+			}
+			firstKeys[count] = originKey;
+			// a single-point segment has no upper bound, any slope >= 0 fits
+			slopes[count] = highSlope == Double.POSITIVE_INFINITY ? lowSlope : (lowSlope + highSlope) / 2;
+			starts[count] = originPosition;
+			count++;
+			open = false;
+		}
+	}
+}
@@ -21,6 +21,13 @@ public class Main {
 		} else {
 			System.out.println("Element not found");
 		}
+
+		// overflow-safe version that never needs more than ~2 log(n) probes
+		System.out.println("InterpolationSearch: " + InterpolationSearch.indexOf(array, 8));
+
+		// one line per stretch of keys instead of one line for the whole array
+		LearnedIndex learnedIndex = LearnedIndex.of(array, 2);
+		System.out.println("LearnedIndex (" + learnedIndex.segmentCount() + " segment): " + learnedIndex.indexOf(8));
 	}
 
 	private static int interpolationSearch(int[] array, int value) {
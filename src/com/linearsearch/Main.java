@@ -16,6 +16,10 @@ public class Main {
 			System.out.println("Element not found");
 		}
 
+		// branch-free, parallel scans for big unsorted arrays
+		System.out.println("ScanEngine first match: " + ScanEngine.firstMatch(array, 5));
+		System.out.println("ScanEngine count in [3, 6]: " + ScanEngine.count(array, 3, 6));
+		System.out.println("ScanEngine bitmap: " + Long.toBinaryString(ScanEngine.allMatches(array, 3, 6)[0]));
 	}
 
 	private static int linearSearch(int[] array, int value) {
@@ -0,0 +1,260 @@
+package com.linearsearch;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Scans an unsorted int[] for the elements in [low, high] (or == value).
+//
+// Unlike the linear search in Main, the inner loops have no data-dependent branch:
+// low <= x <= high is one unsigned compare, (x - low) <=u (high - low), and its result
+// is added to a counter or ORed into a bitmap word. Bitmap words are built from eight
+// 8-element groups with constant shifts only, so the JIT can unroll them; a per-element
+// shift (bits |= match << i) costs about twice as much. Nothing stalls on a
+// mispredicted branch when matches are random.
+//
+// Arrays of PARALLEL_THRESHOLD elements or more are split into chunks that are
+// scanned in parallel on the common ForkJoinPool. Chunk borders are multiples of 64,
+// so every bitmap word is written by exactly one chunk.
+//
+// firstMatch  index of the first match, or -1. Works in blocks of BLOCK elements:
+//             a branch-free "any match?" pass, then a search inside the block that has one.
+//             Chunks to the right stop as soon as a match further left is known.
+// allMatches  bitmap with bit i set (word i / 64, bit i % 64) if array[i] matches
+// count       number of matches
+//
+// run-time complexity = O(n / cores)
+// space complexity = O(1), O(n / 64) for the bitmap
+public class ScanEngine {
+
+	private static final int PARALLEL_THRESHOLD = 1 << 16;
+	private static final int CHUNK = 1 << 15;
+	private static final int BLOCK = 256;
+
+	public static int firstMatch(int[] array, int value) {
+		return firstMatch(array, value, value);
+	}
+
+	public static int firstMatch(int[] array, int low, int high) {
+
+		checkBounds(low, high);
+		if(array.length < PARALLEL_THRESHOLD) {
+			return firstMatch(array, 0, array.length, low, high, null);
+		}
+		AtomicInteger found = new AtomicInteger(Integer.MAX_VALUE);
+		ForkJoinPool.commonPool().invoke(new FirstMatchTask(array, 0, array.length, low, high, found));
+		int index = found.get();
+		return index == Integer.MAX_VALUE ? -1 : index;
+	}
+
+	public static long[] allMatches(int[] array, int value) {
+		return allMatches(array, value, value);
+	}
+
+	public static long[] allMatches(int[] array, int low, int high) {
+
+		checkBounds(low, high);
+		long[] bitmap = new long[(array.length + 63) >>> 6];
+		if(array.length < PARALLEL_THRESHOLD) {
+			allMatches(array, 0, array.length, low, high, bitmap);
+		}
+		else {
+			ForkJoinPool.commonPool().invoke(new AllMatchesTask(array, 0, array.length, low, high, bitmap));
+		}
+		return bitmap;
+	}
+
+	public static int count(int[] array, int value) {
+		return count(array, value, value);
+	}
+
+	public static int count(int[] array, int low, int high) {
+
+		checkBounds(low, high);
+		if(array.length < PARALLEL_THRESHOLD) {
+			return count(array, 0, array.length, low, high);
+		}
+		return ForkJoinPool.commonPool().invoke(new CountTask(array, 0, array.length, low, high));
+	}
+
+	private static int count(int[] array, int from, int to, int low, int high) {
+
+		int width = high - low;
+		int count = 0;
+		for(int i = from; i < to; i++) {
+			count += Integer.compareUnsigned(array[i] - low, width) <= 0 ? 1 : 0;
+		}
+		return count;
+	}
+
+	// from must be a multiple of 64
+	private static void allMatches(int[] array, int from, int to, int low, int high, long[] bitmap) {
+
+		int width = high - low;
+		int word = from;
+		// full words: eight 8-bit groups, every bit lands at a constant position
+		for(; word + 64 <= to; word += 64) {
+			bitmap[word >>> 6] = (long) matchByte(array, word, low, width)
+					| (long) matchByte(array, word + 8, low, width) << 8
+					| (long) matchByte(array, word + 16, low, width) << 16
+					| (long) matchByte(array, word + 24, low, width) << 24
+					| (long) matchByte(array, word + 32, low, width) << 32
+					| (long) matchByte(array, word + 40, low, width) << 40
+					| (long) matchByte(array, word + 48, low, width) << 48
+					| (long) matchByte(array, word + 56, low, width) << 56;
+		}
+		if(word < to) {
+			long bits = 0;
+			for(int i = word; i < to; i++) {
+				bits |= (Integer.compareUnsigned(array[i] - low, width) <= 0 ? 1L : 0L) << (i - word);
+			}
+			bitmap[word >>> 6] = bits;
+		}
+	}
+
+	// bit k set if array[from + k] matches, for k = 0..7
+	private static int matchByte(int[] array, int from, int low, int width) {
+		return match(array[from], low, width)
+				| match(array[from + 1], low, width) << 1
+				| match(array[from + 2], low, width) << 2
+				| match(array[from + 3], low, width) << 3
+				| match(array[from + 4], low, width) << 4
+				| match(array[from + 5], low, width) << 5
+				| match(array[from + 6], low, width) << 6
+				| match(array[from + 7], low, width) << 7;
+	}
+
+	private static int match(int x, int low, int width) {
+		return Integer.compareUnsigned(x - low, width) <= 0 ? 1 : 0;
+	}
+
+	// found == null for a single-threaded scan, else the smallest match any chunk has seen
+	private static int firstMatch(int[] array, int from, int to, int low, int high, AtomicInteger found) {
+
+		int width = high - low;
+		for(int block = from; block < to; block += BLOCK) {
+			if(found != null && found.get() < block) {
+				return -1; // a chunk further left already won
+			}
+			int end = Math.min(block + BLOCK, to);
+			int any = 0;
+			for(int i = block; i < end; i++) {
+				any |= Integer.compareUnsigned(array[i] - low, width) <= 0 ? 1 : 0;
+			}
+			if(any != 0) {
+				for(int i = block; ; i++) {
+					if(Integer.compareUnsigned(array[i] - low, width) <= 0) {
+						return i;
+					}
+				}
+			}
+		}
+		return -1;
+	}
+
+	// splits [from, to) at a multiple of 64
+	private static int split(int from, int to) {
+		return from + (((to - from) >>> 1) & ~63);
+	}
+
+	@SuppressWarnings("serial") // tasks are never serialized
+	private static final class CountTask extends RecursiveTask<Integer> {
+
+		private final int[] array;
+		private final int from, to, low, high;
+
+		CountTask(int[] array, int from, int to, int low, int high) {
+			this.array = array;
+			this.from = from;
+			this.to = to;
+			this.low = low;
+			this.high = high;
+		}
+
+		@Override
+		protected Integer compute() {
+
+			if(to - from <= CHUNK) {
+				return count(array, from, to, low, high);
+			}
+			int middle = split(from, to);
+			CountTask right = new CountTask(array, middle, to, low, high);
+			right.fork();
+			int left = new CountTask(array, from, middle, low, high).compute();
+			return left + right.join();
+		}
+	}
+
+	@SuppressWarnings("serial") // tasks are never serialized
+	private static final class AllMatchesTask extends RecursiveTask<Void> {
+
+		private final int[] array;
+		private final int from, to, low, high;
+		private final long[] bitmap;
+
+		AllMatchesTask(int[] array, int from, int to, int low, int high, long[] bitmap) {
+			this.array = array;
+			this.from = from;
+			this.to = to;
+			this.low = low;
+			this.high = high;
+			this.bitmap = bitmap;
+		}
+
+		@Override
+		protected Void compute() {
+
+			if(to - from <= CHUNK) {
+				allMatches(array, from, to, low, high, bitmap);
+				return null;
+			}
+			int middle = split(from, to);
+			invokeAll(new AllMatchesTask(array, from, middle, low, high, bitmap),
+					new AllMatchesTask(array, middle, to, low, high, bitmap));
+			return null;
+		}
+	}
+
+	@SuppressWarnings("serial") // tasks are never serialized
+	private static final class FirstMatchTask extends RecursiveTask<Void> {
+
+		private final int[] array;
+		private final int from, to, low, high;
+		private final AtomicInteger found;
+
+		FirstMatchTask(int[] array, int from, int to, int low, int high, AtomicInteger found) {
+			this.array = array;
+			this.from = from;
+			this.to = to;
+			this.low = low;
+			this.high = high;
+			this.found = found;
+		}
+
+		@Override
+		protected Void compute() {
+
+			if(found.get() < from) {
+				return null;
+			}
+			if(to - from <= CHUNK) {
+				int index = firstMatch(array, from, to, low, high, found);
+				if(index >= 0) {
+					found.accumulateAndGet(index, Math::min);
+				}
+				return null;
+			}
+			int middle = split(from, to);
+			invokeAll(new FirstMatchTask(array, from, middle, low, high, found),
+					new FirstMatchTask(array, middle, to, low, high, found));
+			return null;
+		}
+	}
+
+	private static void checkBounds(int low, int high) {
+
+		if(low > high) {
+			throw new IllegalArgumentException("low > high: " + low + " > " + high);
+		}
+	}
+}
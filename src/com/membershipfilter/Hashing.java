@@ -0,0 +1,24 @@
+package com.membershipfilter;
+
+// hash helpers shared by the filters
+final class Hashing {
+
+	private Hashing() {
+	}
+
+	// murmur3's 64-bit finalizer: every input bit affects every output bit
+	static long mix(long x) {
+
+		x ^= x >>> 33;
+		x *= 0xFF51AFD7ED558CCDL;
+		x ^= x >>> 33;
+		x *= 0xC4CEB9FE1A85EC53L;
+		x ^= x >>> 33;
+		return x;
+	}
+
+	// maps a 32-bit hash to [0, n) with a multiply instead of a division
+	static int reduce(int hash, int n) {
+		return (int) (((hash & 0xFFFFFFFFL) * n) >>> 32);
+	}
+}
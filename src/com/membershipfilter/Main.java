@@ -0,0 +1,56 @@
+package com.membershipfilter;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import com.linearsearch.ScanEngine;
+
+public class Main {
+
+	public static void main(String[] args) {
+
+		// membership filter = small summary of a set of keys that answers
+		// "definitely not in the set" or "maybe in the set"
+		// if most lookups are for missing keys, asking the filter first
+		// skips most of the real searches
+
+		Random random = new Random(42);
+		int[] keys = new int[1000000];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = random.nextInt();
+		}
+		int[] sorted = keys.clone();
+		Arrays.sort(sorted);
+
+		BlockedBloomFilter bloomFilter = BlockedBloomFilter.of(keys, 10);
+		XorFilter xorFilter = XorFilter.of(keys, 8);
+
+		int lookups = 1000000;
+		int bloomSearches = 0;
+		int xorSearches = 0;
+		int found = 0;
+
+		for (int i = 0; i < lookups; i++) {
+			int target = random.nextInt();
+			if (bloomFilter.mightContain(target)) {
+				bloomSearches++;
+			}
+			if (xorFilter.mightContain(target)) {
+				xorSearches++;
+				if (Arrays.binarySearch(sorted, target) >= 0) {
+					found++;
+				}
+			}
+		}
+
+		System.out.println("lookups: " + lookups + ", found: " + found);
+		System.out.println("binary searches after the Bloom filter: " + bloomSearches);
+		System.out.println("binary searches after the xor filter: " + xorSearches);
+
+		// same idea in front of a scan of the unsorted keys
+		int target = keys[123];
+		if (xorFilter.mightContain(target)) {
+			System.out.println(target + " found at index: " + ScanEngine.firstMatch(keys, target));
+		}
+	}
+}
@@ -0,0 +1,182 @@
+package com.membershipfilter;
+
+import java.util.Arrays;
+
+// Xor filter = a static set filter, built once from all keys, smaller and faster than a Bloom filter.
+//
+// Every key hashes to 3 slots, one in each third of a fingerprint table, and to an
+// 8- or 16-bit fingerprint. The table is filled so that for every key
+//
+//	table[h0] ^ table[h1] ^ table[h2] == fingerprint(key)
+//
+// A lookup reads 3 slots and compares. A key that isn't in the set matches by
+// chance with probability 1 / 256 (8 bits) or 1 / 65536 (16 bits).
+//
+// Construction ("peeling"): a slot that only one key maps to can be set last, after the
+// key's other two slots, to whatever makes that key's xor come out right. So: repeatedly
+// remove a key that owns such a slot, then fill the slots in reverse removal order.
+// With 1.23 slots per key this succeeds with high probability; if it doesn't, the
+// hash seed changes and it starts over.
+//
+// run-time complexity = build O(n) expected, lookup O(1) with 3 memory accesses
+// space complexity = 1.23 * fingerprint bits per key (~9.8 or ~19.7 bits)
+public class XorFilter {
+
+	private static final int MAX_ATTEMPTS = 100;
+
+	private final int fingerprintBits;
+	private final byte[] fingerprints8;
+	private final short[] fingerprints16;
+	private final int segmentLength;
+	private final long seed;
+
+	private XorFilter(int fingerprintBits, int segmentLength, long seed, int[] table) {
+
+		this.fingerprintBits = fingerprintBits;
+		this.segmentLength = segmentLength;
+		this.seed = seed;
+		if(fingerprintBits == 8) {
+			fingerprints8 = new byte[table.length];
+			fingerprints16 = null;
+			for(int i = 0; i < table.length; i++) {
+				fingerprints8[i] = (byte) table[i];
+			}
+		}
+		else {
+			fingerprints8 = null;
+			fingerprints16 = new short[table.length];
+			for(int i = 0; i < table.length; i++) {
+				fingerprints16[i] = (short) table[i];
+			}
+		}
+	}
+
+	// 8-bit fingerprints if they meet falsePositiveRate, else 16-bit
+	public static XorFilter forFalsePositiveRate(int[] keys, double falsePositiveRate) {
+
+		if(!(falsePositiveRate >= 1.0 / 65536 && falsePositiveRate < 1)) {
+			throw new IllegalArgumentException("falsePositiveRate must be in [1/65536, 1): " + falsePositiveRate);
+		}
+		return of(keys, falsePositiveRate >= 1.0 / 256 ? 8 : 16);
+	}
+
+	// fingerprintBits: 8 (~0.4% false positives) or 16 (~0.0015%)
+	public static XorFilter of(int[] keys, int fingerprintBits) {
+
+		if(fingerprintBits != 8 && fingerprintBits != 16) {
+			throw new IllegalArgumentException("fingerprintBits must be 8 or 16: " + fingerprintBits);
+		}
+		int[] distinct = distinct(keys);
+		int size = distinct.length;
+		int segmentLength = Math.max(1, (int) Math.ceil(1.23 * size / 3) + 11);
+		int capacity = 3 * segmentLength;
+		int mask = (1 << fingerprintBits) - 1;
+
+		int[] counts = new int[capacity];
+		long[] xorHashes = new long[capacity];  // xor of the hashes of the keys mapped to a slot
+		int[] queue = new int[capacity];
+		long[] stackHashes = new long[size];
+		int[] stackSlots = new int[size];
+
+		long seed = 0x9E3779B97F4A7C15L;
+		for(int attempt = 0; attempt < MAX_ATTEMPTS; attempt++, seed = Hashing.mix(seed + attempt)) {
+
+			Arrays.fill(counts, 0);
+			Arrays.fill(xorHashes, 0);
+			for(int i = 0; i < size; i++) {
+				long hash = Hashing.mix(distinct[i] + seed);
+				for(int j = 0; j < 3; j++) {
+					int slot = slot(hash, j, segmentLength);
+					counts[slot]++;
+					xorHashes[slot] ^= hash;
+				}
+			}
+
+			// peel: a slot with one key left gives us that key (its hash is the xor of one)
+			int queued = 0;
+			for(int slot = 0; slot < capacity; slot++) {
+				if(counts[slot] == 1) {
+					queue[queued++] = slot;
+				}
+			}
+			int stacked = 0;
+			while(queued > 0) {
+				int slot = queue[--queued];
+				if(counts[slot] != 1) {
+					continue;
+				}
+				long hash = xorHashes[slot];
+				stackHashes[stacked] = hash;
+				stackSlots[stacked++] = slot;
+				for(int j = 0; j < 3; j++) {
+					int other = slot(hash, j, segmentLength);
+					counts[other]--;
+					xorHashes[other] ^= hash;
+					if(counts[other] == 1) {
+						queue[queued++] = other;
+					}
+				}
+			}
+			if(stacked < size) {
+				continue; // a cycle is left that can't be peeled, try another seed
+			}
+
+			int[] table = new int[capacity];
+			for(int i = stacked - 1; i >= 0; i--) {
+				long hash = stackHashes[i];
+				int fingerprint = fingerprint(hash) & mask;
+				for(int j = 0; j < 3; j++) {
+					fingerprint ^= table[slot(hash, j, segmentLength)];
+				}
+				// table[stackSlots[i]] is still 0, so it drops out of the xor above
+				table[stackSlots[i]] = fingerprint;
+			}
+			return new XorFilter(fingerprintBits, segmentLength, seed, table);
+		}
+		throw new IllegalStateException("could not build the filter in " + MAX_ATTEMPTS + " attempts");
+	}
+
+	// false means key is not in the set, true means it probably is
+	public boolean mightContain(int key) {
+
+		long hash = Hashing.mix(key + seed);
+		int fingerprint = fingerprint(hash);
+		int h0 = slot(hash, 0, segmentLength);
+		int h1 = slot(hash, 1, segmentLength);
+		int h2 = slot(hash, 2, segmentLength);
+		if(fingerprints8 != null) {
+			return (byte) fingerprint == (byte) (fingerprints8[h0] ^ fingerprints8[h1] ^ fingerprints8[h2]);
+		}
+		return (short) fingerprint == (short) (fingerprints16[h0] ^ fingerprints16[h1] ^ fingerprints16[h2]);
+	}
+
+	public int fingerprintBits() {
+		return fingerprintBits;
+	}
+
+	public long sizeInBits() {
+		return (long) 3 * segmentLength * fingerprintBits;
+	}
+
+	// slot of the key in segment j (0, 1 or 2), each segment uses different hash bits
+	private static int slot(long hash, int j, int segmentLength) {
+		return j * segmentLength + Hashing.reduce((int) Long.rotateLeft(hash, 21 * j), segmentLength);
+	}
+
+	private static int fingerprint(long hash) {
+		return (int) (hash ^ (hash >>> 32));
+	}
+
+	private static int[] distinct(int[] keys) {
+
+		int[] sorted = keys.clone();
+		Arrays.sort(sorted);
+		int count = 0;
+		for(int i = 0; i < sorted.length; i++) {
+			if(i == 0 || sorted[i] != sorted[i - 1]) {
+				sorted[count++] = sorted[i];
+			}
+		}
+		return Arrays.copyOf(sorted, count);
+	}
+}
@@ -16,7 +16,7 @@ public class Main {
 		}
 	}
 
-	private static void mergeSort(int[] array) {
+	public static void mergeSort(int[] array) {
 
 		int length = array.length;
 		if (length <= 1)
@@ -0,0 +1,184 @@
+package com.mergesort;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+import com.quicksort.SortKernels;
+
+// Production version of the merge sort in Main:
+//
+// 1. one auxiliary buffer for the whole sort instead of a leftArray/rightArray per level.
+//    Each level sorts its halves into the "other" array and merges them back,
+//    so the two arrays swap roles (ping-pong) and nothing is copied back.
+// 2. ranges of at most SortKernels.NETWORK_MAX elements use a branch-free sorting network
+// 3. both halves of a large range are sorted as ForkJoinPool tasks, and the
+//    top-level merges are split in parallel too, so the final O(n) merge
+//    doesn't run on a single core
+//
+// run-time complexity = O(n log(n)) work, O(log(n)^3) span
+// space complexity = O(n) for the one buffer
+public class ParallelMergeSort {
+
+	private static final int PARALLEL_SORT_THRESHOLD = 1 << 13;
+	private static final int PARALLEL_MERGE_THRESHOLD = 1 << 14;
+
+	public static void sort(int[] array) {
+		sort(array, 0, array.length);
+	}
+
+	// sorts array[from, to)
+	public static void sort(int[] array, int from, int to) {
+
+		checkRange(array.length, from, to);
+		int length = to - from;
+		if(length < 2) {
+			return;
+		}
+		int[] buffer = new int[length];
+		System.arraycopy(array, from, buffer, 0, length);
+
+		// element k of the range is array[from + k] and buffer[k]
+		SortTask task = new SortTask(buffer, 0, array, from, 0, length);
+		if(length < PARALLEL_SORT_THRESHOLD) {
+			task.compute();
+		}
+		else {
+			ForkJoinPool.commonPool().invoke(task);
+		}
+	}
+
+	// Sorts elements [lo, hi) into dst, using src as scratch.
+	// Requires src and dst to hold the same elements for [lo, hi).
+	@SuppressWarnings("serial") // tasks are never serialized
+	private static final class SortTask extends RecursiveAction {
+
+		private final int[] src;
+		private final int srcOffset;
+		private final int[] dst;
+		private final int dstOffset;
+		private final int lo;
+		private final int hi;
+
+		SortTask(int[] src, int srcOffset, int[] dst, int dstOffset, int lo, int hi) {
+			this.src = src;
+			this.srcOffset = srcOffset;
+			this.dst = dst;
+			this.dstOffset = dstOffset;
+			this.lo = lo;
+			this.hi = hi;
+		}
+
+		@Override
+		protected void compute() {
+
+			if(hi - lo < PARALLEL_SORT_THRESHOLD) {
+				sortSequential(src, srcOffset, dst, dstOffset, lo, hi);
+				return;
+			}
+			int middle = (lo + hi) >>> 1;
+			// sort both halves into src, then merge them into dst
+			invokeAll(new SortTask(dst, dstOffset, src, srcOffset, lo, middle),
+					new SortTask(dst, dstOffset, src, srcOffset, middle, hi));
+			new MergeTask(src, srcOffset + lo, srcOffset + middle, srcOffset + middle, srcOffset + hi,
+					dst, dstOffset + lo).compute();
+		}
+	}
+
+	private static void sortSequential(int[] src, int srcOffset, int[] dst, int dstOffset, int lo, int hi) {
+
+		if(hi - lo <= SortKernels.NETWORK_MAX) {
+			SortKernels.sortSmall(dst, dstOffset + lo, dstOffset + hi);
+			return;
+		}
+		int middle = (lo + hi) >>> 1;
+		sortSequential(dst, dstOffset, src, srcOffset, lo, middle);
+		sortSequential(dst, dstOffset, src, srcOffset, middle, hi);
+
+		if(src[srcOffset + middle - 1] <= src[srcOffset + middle]) {
+			// halves are already in order, nothing to merge
+			System.arraycopy(src, srcOffset + lo, dst, dstOffset + lo, hi - lo);
+			return;
+		}
+		merge(src, srcOffset + lo, srcOffset + middle, srcOffset + middle, srcOffset + hi, dst, dstOffset + lo);
+	}
+
+	// Merges the sorted runs src[lo1, hi1) and src[lo2, hi2) into dst starting at out.
+	// Large merges are split around the median of the bigger run, which is
+	// binary searched in the smaller one, and the two halves merge in parallel.
+	@SuppressWarnings("serial") // tasks are never serialized
+	private static final class MergeTask extends RecursiveAction {
+
+		private final int[] src;
+		private final int lo1, hi1, lo2, hi2;
+		private final int[] dst;
+		private final int out;
+
+		MergeTask(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int out) {
+			this.src = src;
+			this.lo1 = lo1;
+			this.hi1 = hi1;
+			this.lo2 = lo2;
+			this.hi2 = hi2;
+			this.dst = dst;
+			this.out = out;
+		}
+
+		@Override
+		protected void compute() {
+
+			int length1 = hi1 - lo1;
+			int length2 = hi2 - lo2;
+			if(length1 + length2 < PARALLEL_MERGE_THRESHOLD) {
+				merge(src, lo1, hi1, lo2, hi2, dst, out);
+				return;
+			}
+			if(length1 < length2) {
+				new MergeTask(src, lo2, hi2, lo1, hi1, dst, out).compute();
+				return;
+			}
+			int middle1 = (lo1 + hi1) >>> 1;
+			int middle2 = lowerBound(src, lo2, hi2, src[middle1]);
+			int position = out + (middle1 - lo1) + (middle2 - lo2);
+			dst[position] = src[middle1];
+			invokeAll(new MergeTask(src, lo1, middle1, lo2, middle2, dst, out),
+					new MergeTask(src, middle1 + 1, hi1, middle2, hi2, dst, position + 1));
+		}
+	}
+
+	private static void merge(int[] src, int lo1, int hi1, int lo2, int hi2, int[] dst, int out) {
+
+		int l = lo1, r = lo2;
+		while(l < hi1 && r < hi2) {
+			// branch-free: the comparison only picks a value and which cursor moves
+			int left = src[l];
+			int right = src[r];
+			int takeRight = right < left ? 1 : 0;
+			dst[out++] = takeRight == 1 ? right : left;
+			r += takeRight;
+			l += 1 - takeRight;
+		}
+		System.arraycopy(src, l, dst, out, hi1 - l);
+		System.arraycopy(src, r, dst, out + (hi1 - l), hi2 - r);
+	}
+
+	private static int lowerBound(int[] array, int low, int high, int key) {
+
+		while(low < high) {
+			int middle = (low + high) >>> 1;
+			if(array[middle] < key) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	static void checkRange(int length, int from, int to) {
+
+		if(from < 0 || to > length || from > to) {
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+		}
+	}
+}
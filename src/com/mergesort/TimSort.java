@@ -0,0 +1,535 @@
+package com.mergesort;
+
+// Adaptive natural merge sort (TimSort) for int arrays.
+//
+// Instead of splitting the array blindly in 2 like Main, it looks for the
+// order that is already there:
+//
+// 1. scan for runs: maximal ascending or strictly descending stretches
+//    (descending runs are reversed in place)
+// 2. runs shorter than minRun (16..32) are extended with binary insertion sort
+// 3. runs are pushed on a stack and merged so that run lengths stay roughly
+//    balanced (|Z| > |Y| + |X| and |Y| > |X| for the top three)
+// 4. a merge first gallops (exponential search) to skip the parts of both runs
+//    that are already in place, and switches to galloping mode while one run keeps
+//    winning, so long ordered stretches are moved with System.arraycopy
+//
+// run-time complexity = O(n) on sorted/reversed/few-runs input, O(n log(n)) worst case
+// space complexity = O(n/2) at most, for the smaller run of a merge
+// timings against the other sorts: the "tim" rows of com.sortbenchmark.Main
+public class TimSort {
+
+	private static final int MIN_MERGE = 32;
+	private static final int MIN_GALLOP = 7;
+
+	private final int[] array;
+	private int minGallop = MIN_GALLOP;
+	private int[] buffer = new int[0];
+
+	// pending runs, merged from the top
+	private final int[] runBase = new int[49];
+	private final int[] runLength = new int[49];
+	private int stackSize;
+
+	private TimSort(int[] array) {
+		this.array = array;
+	}
+
+	public static void sort(int[] array) {
+		sort(array, 0, array.length);
+	}
+
+	// sorts array[from, to)
+	public static void sort(int[] array, int from, int to) {
+
+		ParallelMergeSort.checkRange(array.length, from, to);
+		int remaining = to - from;
+		if(remaining < 2) {
+			return;
+		}
+		if(remaining < MIN_MERGE) {
+			int runEnd = countRunAndMakeAscending(array, from, to);
+			binaryInsertionSort(array, from, to, runEnd);
+			return;
+		}
+
+		TimSort timSort = new TimSort(array);
+		int minRun = minRunLength(remaining);
+		int low = from;
+		do {
+			int runEnd = countRunAndMakeAscending(array, low, to);
+			int length = runEnd - low;
+
+			// short run: extend it to min(minRun, remaining)
+			if(length < minRun) {
+				int forced = Math.min(remaining, minRun);
+				binaryInsertionSort(array, low, low + forced, runEnd);
+				length = forced;
+			}
+			timSort.pushRun(low, length);
+			timSort.mergeCollapse();
+
+			low += length;
+			remaining -= length;
+		} while(remaining != 0);
+
+		timSort.mergeForceCollapse();
+	}
+
+	// returns the end of the run starting at low, reversing it if it was descending
+	private static int countRunAndMakeAscending(int[] array, int low, int high) {
+
+		int runEnd = low + 1;
+		if(runEnd == high) {
+			return high;
+		}
+		if(array[runEnd++] < array[low]) {
+			// strictly descending, so reversing can't reorder equal elements
+			while(runEnd < high && array[runEnd] < array[runEnd - 1]) {
+				runEnd++;
+			}
+			reverse(array, low, runEnd);
+		}
+		else {
+			while(runEnd < high && array[runEnd] >= array[runEnd - 1]) {
+				runEnd++;
+			}
+		}
+		return runEnd;
+	}
+
+	private static void reverse(int[] array, int low, int high) {
+
+		high--;
+		while(low < high) {
+			int temp = array[low];
+			array[low++] = array[high];
+			array[high--] = temp;
+		}
+	}
+
+	// insertion sort of [low, high) where [low, start) is already sorted,
+	// using binary search to find each insertion point
+	private static void binaryInsertionSort(int[] array, int low, int high, int start) {
+
+		if(start == low) {
+			start++;
+		}
+		for(; start < high; start++) {
+			int pivot = array[start];
+			int left = low;
+			int right = start;
+			while(left < right) {
+				int middle = (left + right) >>> 1;
+				if(pivot < array[middle]) {
+					right = middle;
+				}
+				else {
+					left = middle + 1; // equal elements stay to the left, which keeps it stable
+				}
+			}
+			System.arraycopy(array, left, array, left + 1, start - left);
+			array[left] = pivot;
+		}
+	}
+
+	// minRun in [16, 32] such that n / minRun is a power of 2 or slightly less,
+	// which keeps the final merges balanced
+	private static int minRunLength(int n) {
+
+		int r = 0;
+		while(n >= MIN_MERGE) {
+			r |= (n & 1);
+			n >>= 1;
+		}
+		return n + r;
+	}
+
+	private void pushRun(int base, int length) {
+
+		runBase[stackSize] = base;
+		runLength[stackSize] = length;
+		stackSize++;
+	}
+
+	// merges until the stack invariants hold again
+	private void mergeCollapse() {
+
+		while(stackSize > 1) {
+			int n = stackSize - 2;
+			if((n > 0 && runLength[n - 1] <= runLength[n] + runLength[n + 1])
+					|| (n > 1 && runLength[n - 2] <= runLength[n - 1] + runLength[n])) {
+				if(runLength[n - 1] < runLength[n + 1]) {
+					n--;
+				}
+			}
+			else if(runLength[n] > runLength[n + 1]) {
+				break;
+			}
+			mergeAt(n);
+		}
+	}
+
+	private void mergeForceCollapse() {
+
+		while(stackSize > 1) {
+			int n = stackSize - 2;
+			if(n > 0 && runLength[n - 1] < runLength[n + 1]) {
+				n--;
+			}
+			mergeAt(n);
+		}
+	}
+
+	// merges run i with run i + 1
+	private void mergeAt(int i) {
+
+		int base1 = runBase[i];
+		int length1 = runLength[i];
+		int base2 = runBase[i + 1];
+		int length2 = runLength[i + 1];
+
+		runLength[i] = length1 + length2;
+		if(i == stackSize - 3) {
+			runBase[i + 1] = runBase[i + 2];
+			runLength[i + 1] = runLength[i + 2];
+		}
+		stackSize--;
+
+		// elements of run 1 that are <= run2[0] are already in place
+		int k = gallopRight(array[base2], array, base1, length1, 0);
+		base1 += k;
+		length1 -= k;
+		if(length1 == 0) {
+			return;
+		}
+		// elements of run 2 that are >= run1[last] are already in place
+		length2 = gallopLeft(array[base1 + length1 - 1], array, base2, length2, length2 - 1);
+		if(length2 == 0) {
+			return;
+		}
+
+		// copy the smaller run out and merge into the space it leaves
+		if(length1 <= length2) {
+			mergeLow(base1, length1, base2, length2);
+		}
+		else {
+			mergeHigh(base1, length1, base2, length2);
+		}
+	}
+
+	// Leftmost position in a[base, base + length) where key could be inserted,
+	// searching outward from base + hint. Equal elements end up to the right of key.
+	private static int gallopLeft(int key, int[] a, int base, int length, int hint) {
+
+		int lastOffset = 0;
+		int offset = 1;
+		if(key > a[base + hint]) {
+			// gallop right until a[base + hint + lastOffset] < key <= a[base + hint + offset]
+			int maxOffset = length - hint;
+			while(offset < maxOffset && key > a[base + hint + offset]) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if(offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+			if(offset > maxOffset) {
+				offset = maxOffset;
+			}
+			lastOffset += hint;
+			offset += hint;
+		}
+		else {
+			// gallop left until a[base + hint - offset] < key <= a[base + hint - lastOffset]
+			int maxOffset = hint + 1;
+			while(offset < maxOffset && key <= a[base + hint - offset]) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if(offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+			if(offset > maxOffset) {
+				offset = maxOffset;
+			}
+			int temp = lastOffset;
+			lastOffset = hint - offset;
+			offset = hint - temp;
+		}
+
+		// binary search in (lastOffset, offset]
+		lastOffset++;
+		while(lastOffset < offset) {
+			int middle = lastOffset + ((offset - lastOffset) >>> 1);
+			if(key > a[base + middle]) {
+				lastOffset = middle + 1;
+			}
+			else {
+				offset = middle;
+			}
+		}
+		return offset;
+	}
+
+	// Like gallopLeft, but returns the rightmost position: equal elements end up left of key.
+	private static int gallopRight(int key, int[] a, int base, int length, int hint) {
+
+		int lastOffset = 0;
+		int offset = 1;
+		if(key < a[base + hint]) {
+			int maxOffset = hint + 1;
+			while(offset < maxOffset && key < a[base + hint - offset]) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if(offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+			if(offset > maxOffset) {
+				offset = maxOffset;
+			}
+			int temp = lastOffset;
+			lastOffset = hint - offset;
+			offset = hint - temp;
+		}
+		else {
+			int maxOffset = length - hint;
+			while(offset < maxOffset && key >= a[base + hint + offset]) {
+				lastOffset = offset;
+				offset = (offset << 1) + 1;
+				if(offset <= 0) {
+					offset = maxOffset;
+				}
+			}
+			if(offset > maxOffset) {
+				offset = maxOffset;
+			}
+			lastOffset += hint;
+			offset += hint;
+		}
+
+		lastOffset++;
+		while(lastOffset < offset) {
+			int middle = lastOffset + ((offset - lastOffset) >>> 1);
+			if(key < a[base + middle]) {
+				offset = middle;
+			}
+			else {
+				lastOffset = middle + 1;
+			}
+		}
+		return offset;
+	}
+
+	// Merges two adjacent runs where run 1 is the shorter one: run 1 is copied to the
+	// buffer and the merge fills the array from the left.
+	// Precondition (from mergeAt): array[base1] > array[base2] and run1's last > run2's last.
+	private void mergeLow(int base1, int length1, int base2, int length2) {
+
+		int[] a = array;
+		int[] temp = ensureBuffer(length1);
+		System.arraycopy(a, base1, temp, 0, length1);
+
+		int cursor1 = 0;      // in temp
+		int cursor2 = base2;  // in a
+		int dest = base1;     // in a
+
+		a[dest++] = a[cursor2++];
+		if(--length2 == 0) {
+			System.arraycopy(temp, cursor1, a, dest, length1);
+			return;
+		}
+		if(length1 == 1) {
+			System.arraycopy(a, cursor2, a, dest, length2);
+			a[dest + length2] = temp[cursor1];
+			return;
+		}
+
+		int minGallop = this.minGallop;
+		outer:
+		while(true) {
+			int count1 = 0; // times in a row run 1 won
+			int count2 = 0; // times in a row run 2 won
+
+			// one element at a time until one run starts winning consistently
+			do {
+				if(a[cursor2] < temp[cursor1]) {
+					a[dest++] = a[cursor2++];
+					count2++;
+					count1 = 0;
+					if(--length2 == 0) {
+						break outer;
+					}
+				}
+				else {
+					a[dest++] = temp[cursor1++];
+					count1++;
+					count2 = 0;
+					if(--length1 == 1) {
+						break outer;
+					}
+				}
+			} while((count1 | count2) < minGallop);
+
+			// galloping: find how far each run wins and copy that stretch at once
+			do {
+				count1 = gallopRight(a[cursor2], temp, cursor1, length1, 0);
+				if(count1 != 0) {
+					System.arraycopy(temp, cursor1, a, dest, count1);
+					dest += count1;
+					cursor1 += count1;
+					length1 -= count1;
+					if(length1 <= 1) {
+						break outer;
+					}
+				}
+				a[dest++] = a[cursor2++];
+				if(--length2 == 0) {
+					break outer;
+				}
+
+				count2 = gallopLeft(temp[cursor1], a, cursor2, length2, 0);
+				if(count2 != 0) {
+					System.arraycopy(a, cursor2, a, dest, count2);
+					dest += count2;
+					cursor2 += count2;
+					length2 -= count2;
+					if(length2 == 0) {
+						break outer;
+					}
+				}
+				a[dest++] = temp[cursor1++];
+				if(--length1 == 1) {
+					break outer;
+				}
+				minGallop--;
+			} while(count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+
+			// galloping stopped paying off, make it harder to re-enter
+			if(minGallop < 0) {
+				minGallop = 0;
+			}
+			minGallop += 2;
+		}
+		this.minGallop = minGallop < 1 ? 1 : minGallop;
+
+		if(length1 == 1) {
+			System.arraycopy(a, cursor2, a, dest, length2);
+			a[dest + length2] = temp[cursor1]; // the last element of run 1 goes at the end
+		}
+		else {
+			System.arraycopy(temp, cursor1, a, dest, length1);
+		}
+	}
+
+	// Mirror image of mergeLow for when run 2 is shorter: run 2 is copied to the
+	// buffer and the merge fills the array from the right.
+	private void mergeHigh(int base1, int length1, int base2, int length2) {
+
+		int[] a = array;
+		int[] temp = ensureBuffer(length2);
+		System.arraycopy(a, base2, temp, 0, length2);
+
+		int cursor1 = base1 + length1 - 1; // in a
+		int cursor2 = length2 - 1;         // in temp
+		int dest = base2 + length2 - 1;    // in a
+
+		a[dest--] = a[cursor1--];
+		if(--length1 == 0) {
+			System.arraycopy(temp, 0, a, dest - (length2 - 1), length2);
+			return;
+		}
+		if(length2 == 1) {
+			dest -= length1;
+			cursor1 -= length1;
+			System.arraycopy(a, cursor1 + 1, a, dest + 1, length1);
+			a[dest] = temp[cursor2];
+			return;
+		}
+
+		int minGallop = this.minGallop;
+		outer:
+		while(true) {
+			int count1 = 0;
+			int count2 = 0;
+
+			do {
+				if(temp[cursor2] < a[cursor1]) {
+					a[dest--] = a[cursor1--];
+					count1++;
+					count2 = 0;
+					if(--length1 == 0) {
+						break outer;
+					}
+				}
+				else {
+					a[dest--] = temp[cursor2--];
+					count2++;
+					count1 = 0;
+					if(--length2 == 1) {
+						break outer;
+					}
+				}
+			} while((count1 | count2) < minGallop);
+
+			do {
+				count1 = length1 - gallopRight(temp[cursor2], a, base1, length1, length1 - 1);
+				if(count1 != 0) {
+					dest -= count1;
+					cursor1 -= count1;
+					length1 -= count1;
+					System.arraycopy(a, cursor1 + 1, a, dest + 1, count1);
+					if(length1 == 0) {
+						break outer;
+					}
+				}
+				a[dest--] = temp[cursor2--];
+				if(--length2 == 1) {
+					break outer;
+				}
+
+				count2 = length2 - gallopLeft(a[cursor1], temp, 0, length2, length2 - 1);
+				if(count2 != 0) {
+					dest -= count2;
+					cursor2 -= count2;
+					length2 -= count2;
+					System.arraycopy(temp, cursor2 + 1, a, dest + 1, count2);
+					if(length2 <= 1) {
+						break outer;
+					}
+				}
+				a[dest--] = a[cursor1--];
+				if(--length1 == 0) {
+					break outer;
+				}
+				minGallop--;
+			} while(count1 >= MIN_GALLOP | count2 >= MIN_GALLOP);
+
+			if(minGallop < 0) {
+				minGallop = 0;
+			}
+			minGallop += 2;
+		}
+		this.minGallop = minGallop < 1 ? 1 : minGallop;
+
+		if(length2 == 1) {
+			dest -= length1;
+			cursor1 -= length1;
+			System.arraycopy(a, cursor1 + 1, a, dest + 1, length1);
+			a[dest] = temp[cursor2]; // the first element of run 2 goes at the front
+		}
+		else {
+			System.arraycopy(temp, 0, a, dest - (length2 - 1), length2);
+		}
+	}
+
+	private int[] ensureBuffer(int minCapacity) {
+
+		if(buffer.length < minCapacity) {
+			int newSize = Math.max(minCapacity, Math.min(array.length >>> 1, buffer.length * 2 + 256));
+			buffer = new int[newSize];
+		}
+		return buffer;
+	}
+}
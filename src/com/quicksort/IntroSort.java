@@ -0,0 +1,141 @@
+package com.quicksort;
+
+// Introsort = the quick sort from Main, hardened for production data
+//
+// - pivot: median of three, or Tukey's ninther (median of three medians) on large ranges,
+//   so sorted, reversed and organ-pipe inputs get good splits
+// - branch-free partition (SortKernels.partition): < pivot | pivot | >= pivot
+// - duplicates: every range except the leftmost one sits right after an earlier pivot
+//   that is <= all of its elements. If the new pivot equals that predecessor, every
+//   element == pivot is moved to the front in one pass and is finished, so
+//   runs of equal keys don't get partitioned again and again
+// - ranges of at most SortKernels.NETWORK_MAX elements use a sorting network
+// - after 2 * log2(n) levels without finishing, the range falls back to heap sort,
+//   which caps the worst case at O(n log(n)) even for adversarial input
+// - recursion only goes into the smaller partition, the larger one loops,
+//   so the stack stays O(log(n))
+//
+// run-time complexity = O(n log(n)) in every case
+// space complexity = O(log(n))
+public class IntroSort {
+
+	private static final int NINTHER_THRESHOLD = 128;
+
+	public static void sort(int[] array) {
+		sort(array, 0, array.length);
+	}
+
+	// sorts array[from, to)
+	public static void sort(int[] array, int from, int to) {
+
+		if(from < 0 || to > array.length || from > to) {
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + array.length);
+		}
+		if(to - from < 2) {
+			return;
+		}
+		int depthLimit = 2 * (31 - Integer.numberOfLeadingZeros(to - from));
+		introSort(array, from, to, depthLimit, true);
+	}
+
+	// leftmost == false means array[from - 1] exists and is <= every element of the range
+	private static void introSort(int[] array, int from, int to, int depthLimit, boolean leftmost) {
+
+		while(to - from > SortKernels.NETWORK_MAX) {
+
+			if(depthLimit == 0) {
+				heapSort(array, from, to);
+				return;
+			}
+			depthLimit--;
+
+			int pivotIndex = choosePivot(array, from, to);
+			int pivot = array[pivotIndex];
+
+			if(!leftmost && array[from - 1] == pivot) {
+				// the range has no elements < pivot, so "<= pivot" means "== pivot":
+				// move them all to the front, they are already in their final place
+				if(pivot == Integer.MAX_VALUE) {
+					return; // every element equals MAX_VALUE
+				}
+				from = SortKernels.partition(array, from, to, pivot + 1);
+				continue;
+			}
+
+			// park the pivot at the end, partition the rest, then put the pivot between the halves
+			array[pivotIndex] = array[to - 1];
+			array[to - 1] = pivot;
+			int split = SortKernels.partition(array, from, to - 1, pivot);
+			array[to - 1] = array[split];
+			array[split] = pivot;
+
+			// [from, split) < pivot, array[split] == pivot, [split + 1, to) >= pivot
+			// recurse into the smaller side, keep looping on the larger one
+			if(split - from < to - split - 1) {
+				introSort(array, from, split, depthLimit, leftmost);
+				from = split + 1;
+				leftmost = false;
+			}
+			else {
+				introSort(array, split + 1, to, depthLimit, false);
+				to = split;
+			}
+		}
+		SortKernels.sortSmall(array, from, to);
+	}
+
+	private static int choosePivot(int[] array, int from, int to) {
+
+		int length = to - from;
+		int middle = (from + to) >>> 1;
+		if(length < NINTHER_THRESHOLD) {
+			return medianOfThree(array, from, middle, to - 1);
+		}
+		int step = length / 8;
+		int a = medianOfThree(array, from, from + step, from + 2 * step);
+		int b = medianOfThree(array, middle - step, middle, middle + step);
+		int c = medianOfThree(array, to - 1 - 2 * step, to - 1 - step, to - 1);
+		return medianOfThree(array, a, b, c);
+	}
+
+	// index of the median of array[a], array[b], array[c]
+	private static int medianOfThree(int[] array, int a, int b, int c) {
+
+		int x = array[a], y = array[b], z = array[c];
+		if(x < y) {
+			return y < z ? b : (x < z ? c : a);
+		}
+		return x < z ? a : (y < z ? c : b);
+	}
+
+	private static void heapSort(int[] array, int from, int to) {
+
+		int length = to - from;
+		for(int i = length / 2 - 1; i >= 0; i--) {
+			siftDown(array, from, i, length);
+		}
+		for(int end = length - 1; end > 0; end--) {
+			int temp = array[from];
+			array[from] = array[from + end];
+			array[from + end] = temp;
+			siftDown(array, from, 0, end);
+		}
+	}
+
+	private static void siftDown(int[] array, int offset, int root, int length) {
+
+		int value = array[offset + root];
+		int child;
+		while((child = 2 * root + 1) < length) {
+			if(child + 1 < length && array[offset + child + 1] > array[offset + child]) {
+				child++;
+			}
+			if(array[offset + child] <= value) {
+				break;
+			}
+			array[offset + root] = array[offset + child];
+			root = child;
+		}
+		array[offset + root] = value;
+	}
+}
@@ -22,11 +22,16 @@ public class Main {
 		}
 	}
 
-	private static void quickSort(int[] array, int start, int end) {
+	public static void quickSort(int[] array, int start, int end) {
 
 		if (end <= start)
 			return; // base case
 
+		if (end - start + 1 <= SortKernels.NETWORK_MAX) {
+			SortKernels.sortSmall(array, start, end + 1); // small range: branch-free sorting network
+			return;
+		}
+
 		int pivot = partition(array, start, end);
 		quickSort(array, start, pivot - 1);
 		quickSort(array, pivot + 1, end);
@@ -35,17 +40,10 @@ public class Main {
 	private static int partition(int[] array, int start, int end) {
 
 		int pivot = array[end];
-		int i = start - 1;
-
-		for (int j = start; j <= end; j++) {
-			if (array[j] < pivot) {
-				i++;
-				int temp = array[i];
-				array[i] = array[j];
-				array[j] = temp;
-			}
-		}
-		i++;
+
+		// moves everything < pivot to the front without a data-dependent branch
+		int i = SortKernels.partition(array, start, end, pivot);
+
 		int temp = array[i];
 		array[i] = array[end];
 		array[end] = temp;
@@ -0,0 +1,82 @@
+package com.quicksort;
+
+// Branch-free building blocks for the base cases of IntroSort and ParallelMergeSort.
+//
+// A compare that sends data left or right is a coin flip for the CPU's branch
+// predictor on random input. These kernels turn the decision into arithmetic:
+//
+// sortSmall       sorting network: a fixed list of compare-exchange pairs that sorts
+//                 any input of that size. Each pair is a Math.min/Math.max,
+//                 which the JIT compiles to conditional moves, not jumps.
+// partition       Lomuto partition where the "is it smaller?" test only decides how far
+//                 a cursor moves, so the loop body has no data-dependent branch.
+public final class SortKernels {
+
+	// sortSmall handles ranges up to this size
+	public static final int NETWORK_MAX = 16;
+
+	// NETWORKS[n] = compare-exchange pairs (i, j) with i < j for n elements
+	private static final int[][] NETWORKS = new int[NETWORK_MAX + 1][];
+
+	static {
+		for(int n = 0; n <= NETWORK_MAX; n++) {
+			NETWORKS[n] = batcherNetwork(n);
+		}
+	}
+
+	private SortKernels() {
+	}
+
+	// sorts array[from, to) with a sorting network, to - from must be <= NETWORK_MAX
+	public static void sortSmall(int[] array, int from, int to) {
+
+		int[] network = NETWORKS[to - from];
+		for(int k = 0; k < network.length; k += 2) {
+			int i = from + network[k];
+			int j = from + network[k + 1];
+			int a = array[i];
+			int b = array[j];
+			array[i] = Math.min(a, b);
+			array[j] = Math.max(a, b);
+		}
+	}
+
+	// Moves the elements < pivot to the front of array[from, to) and returns the
+	// index of the first element >= pivot. Not stable.
+	public static int partition(int[] array, int from, int to, int pivot) {
+
+		// [from, i) < pivot, [i, j) >= pivot
+		int i = from;
+		for(int j = from; j < to; j++) {
+			int value = array[j];
+			// always swap, only advance i when value belongs on the left
+			array[j] = array[i];
+			array[i] = value;
+			i += (value < pivot) ? 1 : 0;
+		}
+		return i;
+	}
+
+	// Batcher's odd-even merge sort network, generalised to any n by leaving out
+	// comparators that reach past the end
+	private static int[] batcherNetwork(int n) {
+
+		int[] pairs = new int[n * n * 2];
+		int count = 0;
+		for(int p = 1; p < n; p <<= 1) {
+			for(int k = p; k >= 1; k >>= 1) {
+				for(int j = k % p; j <= n - 1 - k; j += 2 * k) {
+					for(int i = 0; i <= Math.min(k - 1, n - j - k - 1); i++) {
+						if((i + j) / (2 * p) == (i + j + k) / (2 * p)) {
+							pairs[count++] = i + j;
+							pairs[count++] = i + j + k;
+						}
+					}
+				}
+			}
+		}
+		int[] network = new int[count];
+		System.arraycopy(pairs, 0, network, 0, count);
+		return network;
+	}
+}
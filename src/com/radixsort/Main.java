@@ -0,0 +1,28 @@
+package com.radixsort;
+
+public class Main {
+
+	public static void main(String args[]) {
+
+		// radix sort = sorts integers digit by digit instead of comparing them.
+		// LSD (least significant digit first): every pass is a stable counting sort
+		// on the next digit, so after the last pass the keys are fully sorted
+
+		// run-time complexity = O(d * (n + b)) d = number of digits, b = values per digit
+		// space complexity = O(n + b)
+
+		int[] array = { 8, -2, 5, 3, 9, -4, 7, 6, 1 };
+		float[] floats = { 2.5f, -0.0f, -7.25f, 0.0f, Float.NaN, 1e-3f, Float.NEGATIVE_INFINITY };
+
+		RadixSort.sort(array);
+		RadixSort.sort(floats);
+
+		for (int i : array) {
+			System.out.print(i + " ");
+		}
+		System.out.println();
+		for (float f : floats) {
+			System.out.print(f + " ");
+		}
+	}
+}
@@ -0,0 +1,340 @@
+package com.radixsort;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+
+import com.quicksort.IntroSort;
+
+// LSD radix sort with 11-bit digits: 3 passes for 32-bit keys, 6 for 64-bit keys.
+//
+// Every pass: count how often each digit occurs, turn the counts into start
+// positions, then copy ("scatter") every key to its position in a second buffer.
+// Large arrays are cut into one chunk per core: each core counts its own chunk,
+// and the start positions are laid out digit by digit, chunk by chunk, so
+// all cores can scatter into the same buffer at once and the sort stays stable.
+//
+// Passes where every key has the same digit are skipped.
+// Signed ints/longs: the sign bit is flipped while reading digits.
+// float/double: the IEEE bits are mapped to ints/longs that sort in the same order
+// (-Infinity < ... < -0.0 < 0.0 < ... < Infinity < NaN, like Arrays.sort).
+//
+// run-time complexity = O(passes * (n + 2048))
+// space complexity = O(n) for the one buffer
+public class RadixSort {
+
+	private static final int DIGIT_BITS = 11;
+	private static final int RADIX = 1 << DIGIT_BITS;
+	private static final int DIGIT_MASK = RADIX - 1;
+
+	private static final int SMALL_ARRAY = 1024;          // comparison sort is faster below this (see com.sortbenchmark)
+	private static final int INSERTION_THRESHOLD = 64;     // key/value pairs, below this insertion sort is faster
+	private static final int PARALLEL_THRESHOLD = 1 << 17;
+	private static final int MIN_CHUNK = 1 << 15;
+
+	public static void sort(int[] array) {
+		sort(array, 0, array.length);
+	}
+
+	public static void sort(int[] array, int from, int to) {
+
+		checkRange(array.length, from, to);
+		if(to - from < SMALL_ARRAY) {
+			IntroSort.sort(array, from, to);
+			return;
+		}
+		sortInts(array, from, to);
+	}
+
+	// Sorts keys and moves values[i] along with keys[i], so values ends up in key order.
+	// Stable: equal keys keep the order they had, which makes values = 0, 1, 2, ...
+	// an argsort. 3 passes, no matter what the values are.
+	public static void sort(int[] keys, int[] values) {
+
+		if(keys.length != values.length) {
+			throw new IllegalArgumentException("keys and values differ in length: " + keys.length + " != " + values.length);
+		}
+		if(keys.length < INSERTION_THRESHOLD) {
+			insertionSort(keys, values);
+			return;
+		}
+		sortIntsWithValues(keys, values);
+	}
+
+	public static void sort(long[] array) {
+		sort(array, 0, array.length);
+	}
+
+	public static void sort(long[] array, int from, int to) {
+
+		checkRange(array.length, from, to);
+		if(to - from < SMALL_ARRAY) {
+			Arrays.sort(array, from, to);
+			return;
+		}
+		sortLongs(array, from, to);
+	}
+
+	public static void sort(float[] array) {
+		sort(array, 0, array.length);
+	}
+
+	public static void sort(float[] array, int from, int to) {
+
+		checkRange(array.length, from, to);
+		if(to - from < SMALL_ARRAY) {
+			Arrays.sort(array, from, to);
+			return;
+		}
+		int[] keys = new int[to - from];
+		for(int i = 0; i < keys.length; i++) {
+			keys[i] = floatToSortable(array[from + i]);
+		}
+		sortInts(keys, 0, keys.length);
+		for(int i = 0; i < keys.length; i++) {
+			array[from + i] = sortableToFloat(keys[i]);
+		}
+	}
+
+	public static void sort(double[] array) {
+		sort(array, 0, array.length);
+	}
+
+	public static void sort(double[] array, int from, int to) {
+
+		checkRange(array.length, from, to);
+		if(to - from < SMALL_ARRAY) {
+			Arrays.sort(array, from, to);
+			return;
+		}
+		long[] keys = new long[to - from];
+		for(int i = 0; i < keys.length; i++) {
+			keys[i] = doubleToSortable(array[from + i]);
+		}
+		sortLongs(keys, 0, keys.length);
+		for(int i = 0; i < keys.length; i++) {
+			array[from + i] = sortableToDouble(keys[i]);
+		}
+	}
+
+	// negative floats have their magnitude bits flipped so that a larger magnitude sorts first,
+	// the mapping is its own inverse. floatToIntBits collapses every NaN to one positive value.
+	static int floatToSortable(float value) {
+		int bits = Float.floatToIntBits(value);
+		return bits ^ ((bits >> 31) & 0x7FFFFFFF);
+	}
+
+	static float sortableToFloat(int key) {
+		return Float.intBitsToFloat(key ^ ((key >> 31) & 0x7FFFFFFF));
+	}
+
+	static long doubleToSortable(double value) {
+		long bits = Double.doubleToLongBits(value);
+		return bits ^ ((bits >> 63) & 0x7FFFFFFFFFFFFFFFL);
+	}
+
+	static double sortableToDouble(long key) {
+		return Double.longBitsToDouble(key ^ ((key >> 63) & 0x7FFFFFFFFFFFFFFFL));
+	}
+
+	private static void sortInts(int[] array, int from, int to) {
+
+		int length = to - from;
+		int chunks = chunkCount(length);
+		int[][] counts = new int[chunks][RADIX];
+		int[] buffer = new int[length];
+
+		// element k of the range lives at src[srcOffset + k]
+		int[] src = array, dst = buffer;
+		int srcOffset = from, dstOffset = 0;
+
+		for(int shift = 0; shift < 32; shift += DIGIT_BITS) {
+
+			final int[] in = src, out = dst;
+			final int inOffset = srcOffset, outOffset = dstOffset, digitShift = shift;
+
+			forEachChunk(chunks, c -> {
+				int[] count = counts[c];
+				Arrays.fill(count, 0);
+				for(int i = chunkStart(length, chunks, c), end = chunkStart(length, chunks, c + 1); i < end; i++) {
+					count[((in[inOffset + i] ^ Integer.MIN_VALUE) >>> digitShift) & DIGIT_MASK]++;
+				}
+			});
+			if(!toStartPositions(counts, length)) {
+				continue; // every key has the same digit, the pass wouldn't move anything
+			}
+			forEachChunk(chunks, c -> {
+				int[] position = counts[c];
+				for(int i = chunkStart(length, chunks, c), end = chunkStart(length, chunks, c + 1); i < end; i++) {
+					int value = in[inOffset + i];
+					out[outOffset + position[((value ^ Integer.MIN_VALUE) >>> digitShift) & DIGIT_MASK]++] = value;
+				}
+			});
+
+			src = out;
+			dst = in;
+			srcOffset = outOffset;
+			dstOffset = inOffset;
+		}
+		if(src != array) {
+			System.arraycopy(src, srcOffset, array, from, length);
+		}
+	}
+
+	// sortInts for key/value pairs: every pass moves the value together with its key
+	private static void sortIntsWithValues(int[] keys, int[] values) {
+
+		int length = keys.length;
+		int chunks = chunkCount(length);
+		int[][] counts = new int[chunks][RADIX];
+		int[] keyBuffer = new int[length];
+		int[] valueBuffer = new int[length];
+
+		int[] srcKeys = keys, dstKeys = keyBuffer;
+		int[] srcValues = values, dstValues = valueBuffer;
+
+		for(int shift = 0; shift < 32; shift += DIGIT_BITS) {
+
+			final int[] inKeys = srcKeys, outKeys = dstKeys, inValues = srcValues, outValues = dstValues;
+			final int digitShift = shift;
+
+			forEachChunk(chunks, c -> {
+				int[] count = counts[c];
+				Arrays.fill(count, 0);
+				for(int i = chunkStart(length, chunks, c), end = chunkStart(length, chunks, c + 1); i < end; i++) {
+					count[((inKeys[i] ^ Integer.MIN_VALUE) >>> digitShift) & DIGIT_MASK]++;
+				}
+			});
+			if(!toStartPositions(counts, length)) {
+				continue;
+			}
+			forEachChunk(chunks, c -> {
+				int[] position = counts[c];
+				for(int i = chunkStart(length, chunks, c), end = chunkStart(length, chunks, c + 1); i < end; i++) {
+					int key = inKeys[i];
+					int target = position[((key ^ Integer.MIN_VALUE) >>> digitShift) & DIGIT_MASK]++;
+					outKeys[target] = key;
+					outValues[target] = inValues[i];
+				}
+			});
+
+			srcKeys = outKeys;
+			dstKeys = inKeys;
+			srcValues = outValues;
+			dstValues = inValues;
+		}
+		if(srcKeys != keys) {
+			System.arraycopy(srcKeys, 0, keys, 0, length);
+			System.arraycopy(srcValues, 0, values, 0, length);
+		}
+	}
+
+	private static void insertionSort(int[] keys, int[] values) {
+
+		for(int i = 1; i < keys.length; i++) {
+			int key = keys[i];
+			int value = values[i];
+			int j = i - 1;
+			while(j >= 0 && keys[j] > key) {
+				keys[j + 1] = keys[j];
+				values[j + 1] = values[j];
+				j--;
+			}
+			keys[j + 1] = key;
+			values[j + 1] = value;
+		}
+	}
+
+	private static void sortLongs(long[] array, int from, int to) {
+
+		int length = to - from;
+		int chunks = chunkCount(length);
+		int[][] counts = new int[chunks][RADIX];
+		long[] buffer = new long[length];
+
+		long[] src = array, dst = buffer;
+		int srcOffset = from, dstOffset = 0;
+
+		for(int shift = 0; shift < 64; shift += DIGIT_BITS) {
+
+			final long[] in = src, out = dst;
+			final int inOffset = srcOffset, outOffset = dstOffset, digitShift = shift;
+
+			forEachChunk(chunks, c -> {
+				int[] count = counts[c];
+				Arrays.fill(count, 0);
+				for(int i = chunkStart(length, chunks, c), end = chunkStart(length, chunks, c + 1); i < end; i++) {
+					count[(int) ((in[inOffset + i] ^ Long.MIN_VALUE) >>> digitShift) & DIGIT_MASK]++;
+				}
+			});
+			if(!toStartPositions(counts, length)) {
+				continue;
+			}
+			forEachChunk(chunks, c -> {
+				int[] position = counts[c];
+				for(int i = chunkStart(length, chunks, c), end = chunkStart(length, chunks, c + 1); i < end; i++) {
+					long value = in[inOffset + i];
+					out[outOffset + position[(int) ((value ^ Long.MIN_VALUE) >>> digitShift) & DIGIT_MASK]++] = value;
+				}
+			});
+
+			src = out;
+			dst = in;
+			srcOffset = outOffset;
+			dstOffset = inOffset;
+		}
+		if(src != array) {
+			System.arraycopy(src, srcOffset, array, from, length);
+		}
+	}
+
+	// Replaces the per-chunk digit counts with the position where each chunk writes
+	// its first key of each digit: all of digit 0 (chunk 0, chunk 1, ...), then digit 1, ...
+	// Returns false if a single digit holds every key.
+	private static boolean toStartPositions(int[][] counts, int length) {
+
+		int position = 0;
+		for(int digit = 0; digit < RADIX; digit++) {
+			int start = position;
+			for(int[] count : counts) {
+				int c = count[digit];
+				count[digit] = position;
+				position += c;
+			}
+			if(position - start == length) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static int chunkCount(int length) {
+
+		if(length < PARALLEL_THRESHOLD) {
+			return 1;
+		}
+		int cores = Runtime.getRuntime().availableProcessors();
+		return Math.max(1, Math.min(cores, length / MIN_CHUNK));
+	}
+
+	private static int chunkStart(int length, int chunks, int chunk) {
+		return (int) ((long) length * chunk / chunks);
+	}
+
+	private static void forEachChunk(int chunks, IntConsumer body) {
+
+		if(chunks == 1) {
+			body.accept(0);
+		}
+		else {
+			IntStream.range(0, chunks).parallel().forEach(body);
+		}
+	}
+
+	private static void checkRange(int length, int from, int to) {
+
+		if(from < 0 || to > length || from > to) {
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+		}
+	}
+}
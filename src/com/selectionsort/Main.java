@@ -21,11 +21,16 @@ public class Main {
 		}
 	}
 
-	private static void selectionSort(int[] array) {
+	public static void selectionSort(int[] array) {
+		selectionSort(array, 0, array.length);
+	}
+
+	// sorts array[from..to-1]
+	public static void selectionSort(int[] array, int from, int to) {
 
-		for (int i = 0; i < array.length - 1; i++) {
+		for (int i = from; i < to - 1; i++) {
 			int min = i;
-			for (int j = i + 1; j < array.length; j++) {
+			for (int j = i + 1; j < to; j++) {
 				if (array[min] > array[j]) {
 					min = j;
 				}
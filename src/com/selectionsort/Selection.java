@@ -0,0 +1,155 @@
+package com.selectionsort;
+
+import com.quicksort.IntroSort;
+
+// Selection = find the k-th smallest element without sorting the whole array.
+//
+// nthElement    Floyd-Rivest select: partitions around a pivot picked from a small
+//               sample that almost surely lands close to position k, so each round
+//               throws away nearly everything. ~n + min(k, n - k) comparisons, O(n) average.
+//               If it keeps missing (adversarial input) it falls back to IntroSort
+//               on what is left, which caps the worst case at O(n log(n)).
+// partialSort   nthElement + sorting only the k smallest: O(n + k log(k))
+// median/percentile  one nthElement, O(n) instead of sorting in O(n log(n))
+//
+// All methods reorder the array in place. For streams use StreamingTopK.
+public class Selection {
+
+	private static final int SAMPLE_THRESHOLD = 600;
+
+	// after the call array[k] holds the value it would have if the array were sorted,
+	// everything before it is <= and everything after it is >=
+	public static int nthElement(int[] array, int k) {
+		return nthElement(array, 0, array.length, k);
+	}
+
+	// same for the range array[from, to), from <= k < to
+	public static int nthElement(int[] array, int from, int to, int k) {
+
+		checkRange(array.length, from, to);
+		if(k < from || k >= to) {
+			throw new IndexOutOfBoundsException("k = " + k + " outside [" + from + ", " + to + ")");
+		}
+		int rounds = 4 * (32 - Integer.numberOfLeadingZeros(to - from));
+		select(array, from, to - 1, k, new int[] { rounds });
+		return array[k];
+	}
+
+	// puts the k smallest elements of the array, sorted, into array[0, k)
+	public static void partialSort(int[] array, int k) {
+
+		if(k < 0 || k > array.length) {
+			throw new IndexOutOfBoundsException("k = " + k + ", length = " + array.length);
+		}
+		if(k == 0) {
+			return;
+		}
+		if(k < array.length) {
+			nthElement(array, 0, array.length, k - 1);
+		}
+		IntroSort.sort(array, 0, k);
+	}
+
+	// returns the k smallest elements in ascending order, leaving the array reordered
+	public static int[] topK(int[] array, int k) {
+
+		partialSort(array, k);
+		int[] result = new int[k];
+		System.arraycopy(array, 0, result, 0, k);
+		return result;
+	}
+
+	// lower median for an even number of elements
+	public static int median(int[] array) {
+
+		if(array.length == 0) {
+			throw new IllegalArgumentException("median of an empty array");
+		}
+		return nthElement(array, (array.length - 1) / 2);
+	}
+
+	// nearest-rank percentile, 0 < percent <= 100
+	public static int percentile(int[] array, double percent) {
+
+		if(array.length == 0 || !(percent > 0 && percent <= 100)) {
+			throw new IllegalArgumentException("percentile " + percent + " of " + array.length + " elements");
+		}
+		int rank = (int) Math.ceil(percent / 100 * array.length);
+		return nthElement(array, Math.max(0, Math.min(array.length, rank) - 1));
+	}
+
+	// Floyd-Rivest on the inclusive range [left, right]. rounds[0] is the round budget
+	// shared with the recursive sample selects; once it is spent every caller falls back
+	static void select(int[] array, int left, int right, int k, int[] rounds) {
+
+		while(right > left) {
+
+			if(--rounds[0] < 0) {
+				// too many rounds without converging, finish with a guaranteed O(n log(n)) sort
+				IntroSort.sort(array, left, right + 1);
+				return;
+			}
+
+			if(right - left > SAMPLE_THRESHOLD) {
+				// recursively select within a sample so that array[k] becomes a pivot
+				// that is very likely just on the right side of the true k-th element
+				double n = right - left + 1;
+				double i = k - left + 1;
+				double z = Math.log(n);
+				double s = 0.5 * Math.exp(2 * z / 3);
+				double sd = 0.5 * Math.sqrt(z * s * (n - s) / n) * Math.signum(i - n / 2);
+				int newLeft = Math.max(left, (int) (k - i * s / n + sd));
+				int newRight = Math.min(right, (int) (k + (n - i) * s / n + sd));
+				select(array, newLeft, newRight, k, rounds);
+			}
+
+			// partition [left, right] around t = array[k]
+			int t = array[k];
+			int i = left;
+			int j = right;
+			swap(array, left, k);
+			if(array[right] > t) {
+				swap(array, right, left);
+			}
+			while(i < j) {
+				swap(array, i, j);
+				i++;
+				j--;
+				while(array[i] < t) {
+					i++;
+				}
+				while(array[j] > t) {
+					j--;
+				}
+			}
+			if(array[left] == t) {
+				swap(array, left, j);
+			}
+			else {
+				j++;
+				swap(array, j, right);
+			}
+
+			// array[j] == t is in its final place, continue on the side that holds k
+			if(j <= k) {
+				left = j + 1;
+			}
+			if(k <= j) {
+				right = j - 1;
+			}
+		}
+	}
+
+	private static void swap(int[] array, int i, int j) {
+		int temp = array[i];
+		array[i] = array[j];
+		array[j] = temp;
+	}
+
+	private static void checkRange(int length, int from, int to) {
+
+		if(from < 0 || to > length || from > to) {
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+		}
+	}
+}
@@ -0,0 +1,117 @@
+package com.selectionsort;
+
+// Keeps the k smallest (or largest) ints seen in a stream of any length.
+//
+// A heap of size k holds the current winners with the worst one at the root,
+// so a new value only has to beat the root: O(1) for most values once the heap
+// is warm, O(log(k)) when it gets in. Memory is O(k) no matter how long the stream.
+public class StreamingTopK {
+
+	private final int[] heap;
+	private final boolean largest;
+	private int size;
+
+	private StreamingTopK(int k, boolean largest) {
+
+		if(k < 1) {
+			throw new IllegalArgumentException("k must be positive: " + k);
+		}
+		this.heap = new int[k];
+		this.largest = largest;
+	}
+
+	public static StreamingTopK smallest(int k) {
+		return new StreamingTopK(k, false);
+	}
+
+	public static StreamingTopK largest(int k) {
+		return new StreamingTopK(k, true);
+	}
+
+	public void offer(int value) {
+
+		if(size < heap.length) {
+			heap[size] = value;
+			siftUp(size++);
+		}
+		else if(better(value, heap[0])) {
+			heap[0] = value;
+			siftDown(0, size);
+		}
+	}
+
+	public void offerAll(int[] values) {
+		for(int value : values) {
+			offer(value);
+		}
+	}
+
+	public int size() {
+		return size;
+	}
+
+	// the current k-th best value, the one a new value has to beat
+	public int threshold() {
+
+		if(size == 0) {
+			throw new IllegalStateException("no values offered yet");
+		}
+		return heap[0];
+	}
+
+	// the kept values, best first (ascending for smallest, descending for largest)
+	public int[] toSortedArray() {
+
+		int[] sorted = new int[size];
+		System.arraycopy(heap, 0, sorted, 0, size);
+		// heap sort a copy: repeatedly move the worst value to the end
+		for(int end = size - 1; end > 0; end--) {
+			int temp = sorted[0];
+			sorted[0] = sorted[end];
+			sorted[end] = temp;
+			siftDown(sorted, 0, end);
+		}
+		return sorted;
+	}
+
+	// true if a should be kept in preference to b
+	private boolean better(int a, int b) {
+		return largest ? a > b : a < b;
+	}
+
+	private void siftUp(int child) {
+
+		int value = heap[child];
+		while(child > 0) {
+			int parent = (child - 1) >>> 1;
+			if(!better(heap[parent], value)) {
+				break;
+			}
+			heap[child] = heap[parent];
+			child = parent;
+		}
+		heap[child] = value;
+	}
+
+	private void siftDown(int root, int length) {
+		siftDown(heap, root, length);
+	}
+
+	// the root must stay the worst kept value
+	private void siftDown(int[] array, int root, int length) {
+
+		int value = array[root];
+		int child;
+		while((child = 2 * root + 1) < length) {
+			if(child + 1 < length && better(array[child], array[child + 1])) {
+				child++;
+			}
+			if(!better(value, array[child])) {
+				break;
+			}
+			array[root] = array[child];
+			root = child;
+		}
+		array[root] = value;
+	}
+}
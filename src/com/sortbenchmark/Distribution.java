@@ -0,0 +1,56 @@
+package com.sortbenchmark;
+
+import java.util.Random;
+
+// Input shapes that favour or punish different sort algorithms
+public enum Distribution {
+
+	RANDOM {
+		void fill(int[] array, Random random) {
+			for(int i = 0; i < array.length; i++) {
+				array[i] = random.nextInt();
+			}
+		}
+	},
+	SORTED {
+		void fill(int[] array, Random random) {
+			for(int i = 0; i < array.length; i++) {
+				array[i] = i;
+			}
+		}
+	},
+	REVERSED {
+		void fill(int[] array, Random random) {
+			for(int i = 0; i < array.length; i++) {
+				array[i] = array.length - i;
+			}
+		}
+	},
+	// ascending runs of about sqrt(n) elements: 0 1 2 .. 0 1 2 ..
+	SAWTOOTH {
+		void fill(int[] array, Random random) {
+			int tooth = Math.max(2, (int) Math.sqrt(array.length));
+			for(int i = 0; i < array.length; i++) {
+				array[i] = i % tooth;
+			}
+		}
+	},
+	// only 16 distinct values
+	FEW_UNIQUE {
+		void fill(int[] array, Random random) {
+			for(int i = 0; i < array.length; i++) {
+				array[i] = random.nextInt(16);
+			}
+		}
+	},
+	// ascending then descending: 0 1 2 .. n/2 .. 2 1 0
+	ORGAN_PIPE {
+		void fill(int[] array, Random random) {
+			for(int i = 0; i < array.length; i++) {
+				array[i] = Math.min(i, array.length - 1 - i);
+			}
+		}
+	};
+
+	abstract void fill(int[] array, Random random);
+}
@@ -0,0 +1,133 @@
+package com.sortbenchmark;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.function.Consumer;
+
+import com.mergesort.ParallelMergeSort;
+import com.mergesort.TimSort;
+import com.quicksort.IntroSort;
+import com.radixsort.RadixSort;
+
+public class Main {
+
+	// Sort benchmark = every int sort in the project against Arrays.sort/parallelSort,
+	// on sizes 16 .. maxSize and every Distribution. Sizes go up in powers of 16, except
+	// 256 .. 4096 which double, because the small-array cutoffs (RadixSort.SMALL_ARRAY = 1024)
+	// are chosen from that range.
+	//
+	// usage: Main [maxSize] [maxQuadraticSize]
+	//        defaults 1048576 and 4096, pass 100000000 for the full 10^8 run (needs -Xmx2g or more)
+	//
+	// Each measurement copies the input into a work array and sorts it, repeated until
+	// about 0.2 s have passed; the cost of the copy alone is measured separately and
+	// subtracted. The first pass over every case is a JIT warm-up and isn't printed.
+	//
+	// JMH would be the usual tool, but this project is a plain source folder with no build
+	// manifest to pull it in, so the harness applies JMH's basic rules by hand (warm-up,
+	// time-boxed repetitions, results consumed) and replaces "-prof gc" with the
+	// per-thread allocation counters of com.sun.management.ThreadMXBean.
+	//
+	// ns/element = nanoseconds per element per sort
+	// bytes/sort = bytes allocated per sort, by all threads (parallel sorts allocate in the pool)
+	// MB/s alloc = allocation rate while sorting, what -prof gc reports as gc.alloc.rate
+
+	private static final long TARGET_NANOS = 200_000_000L;
+
+	public static void main(String[] args) {
+
+		int maxSize = args.length > 0 ? Integer.parseInt(args[0]) : 1 << 20;
+		int maxQuadraticSize = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 12;
+
+		// the textbook sorts of each package first, then the engineered ones.
+		// quick is the Lomuto quick sort of com.quicksort.Main: quadratic (and n deep)
+		// on sorted or few-distinct input, so it is size-capped like the O(n^2) sorts
+		Map<String, Consumer<int[]>> sorts = new LinkedHashMap<>();
+		sorts.put("bubble", com.bubblesort.Main::bubbleSort);
+		sorts.put("insertion", com.insertionsort.Main::insertionSort);
+		sorts.put("selection", com.selectionsort.Main::selectionSort);
+		sorts.put("quick", array -> com.quicksort.Main.quickSort(array, 0, array.length - 1));
+		sorts.put("merge", com.mergesort.Main::mergeSort);
+		sorts.put("merge (parallel)", ParallelMergeSort::sort);
+		sorts.put("tim", TimSort::sort);
+		sorts.put("intro (quick)", IntroSort::sort);
+		sorts.put("radix", RadixSort::sort);
+		sorts.put("Arrays.sort", Arrays::sort);
+		sorts.put("Arrays.parallelSort", Arrays::parallelSort);
+
+		for(boolean warmUp : new boolean[] { true, false }) {
+			if(!warmUp) {
+				System.out.printf("%-20s %-11s %10s %12s %14s %12s%n", "sort", "input", "n", "ns/element", "bytes/sort",
+						"MB/s alloc");
+			}
+			for(int size = 16; size <= maxSize; size = nextSize(size, maxSize)) {
+				for(Distribution distribution : Distribution.values()) {
+					int[] input = new int[size];
+					distribution.fill(input, new Random(42));
+					int[] work = new int[size];
+					double copyNanos = measure(input, work, array -> { }, warmUp)[0];
+
+					for(Map.Entry<String, Consumer<int[]>> sort : sorts.entrySet()) {
+						boolean quadratic = sort.getKey().equals("bubble") || sort.getKey().equals("insertion")
+								|| sort.getKey().equals("selection") || sort.getKey().equals("quick");
+						if(quadratic && size > maxQuadraticSize) {
+							continue;
+						}
+						double[] result = measure(input, work, sort.getValue(), warmUp);
+						if(!warmUp) {
+							System.out.printf("%-20s %-11s %10d %12.2f %14.0f %12.1f%n", sort.getKey(), distribution, size,
+									Math.max(0, result[0] - copyNanos) / size, result[1], result[1] / result[0] * 1e9 / (1 << 20));
+						}
+					}
+				}
+			}
+		}
+	}
+
+	private static int nextSize(int size, int maxSize) {
+		// 16, 256, 512, 1024, 2048, 4096, 65536, ... and always finish with maxSize itself
+		long next = size >= 256 && size < 4096 ? size * 2L : size * 16L;
+		return size < maxSize && next > maxSize ? maxSize : (int) Math.min(next, Integer.MAX_VALUE);
+	}
+
+	// returns { nanoseconds per sort, bytes allocated per sort }
+	private static double[] measure(int[] input, int[] work, Consumer<int[]> sort, boolean warmUp) {
+
+		long budget = warmUp ? TARGET_NANOS / 10 : TARGET_NANOS;
+		long checksum = 0;
+		long runs = 0;
+		long allocatedBefore = allocatedBytes();
+		long start = System.nanoTime();
+		long elapsed;
+		do {
+			System.arraycopy(input, 0, work, 0, input.length);
+			sort.accept(work);
+			checksum += work[runs % work.length > 0 ? (int) (runs % work.length) : 0];
+			runs++;
+			elapsed = System.nanoTime() - start;
+		} while(elapsed < budget);
+		long allocated = allocatedBytes() - allocatedBefore;
+
+		if(checksum == 42) {
+			System.out.print(""); // keeps the JIT from treating the sorts as dead code
+		}
+		return new double[] { (double) elapsed / runs, (double) allocated / runs };
+	}
+
+	private static long allocatedBytes() {
+
+		java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+		if(threads instanceof com.sun.management.ThreadMXBean) {
+			com.sun.management.ThreadMXBean hotspot = (com.sun.management.ThreadMXBean) threads;
+			long total = 0;
+			for(long bytes : hotspot.getThreadAllocatedBytes(threads.getAllThreadIds())) {
+				total += Math.max(0, bytes);
+			}
+			return total;
+		}
+		return 0;
+	}
+}
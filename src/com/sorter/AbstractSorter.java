@@ -0,0 +1,59 @@
+package com.sorter;
+
+import java.util.Comparator;
+
+// Checks the range once and skips ranges that are already sorted by definition,
+// so the engines only implement the sorting itself.
+abstract class AbstractSorter implements Sorter {
+
+	@Override
+	public final void sort(int[] array, int from, int to) {
+
+		checkRange(array.length, from, to);
+		if(to - from > 1) {
+			sortInts(array, from, to);
+		}
+	}
+
+	@Override
+	public final void sort(long[] array, int from, int to) {
+
+		checkRange(array.length, from, to);
+		if(to - from > 1) {
+			sortLongs(array, from, to);
+		}
+	}
+
+	@Override
+	public final void sort(double[] array, int from, int to) {
+
+		checkRange(array.length, from, to);
+		if(to - from > 1) {
+			sortDoubles(array, from, to);
+		}
+	}
+
+	@Override
+	public final <T> void sort(T[] array, int from, int to, Comparator<? super T> comparator) {
+
+		checkRange(array.length, from, to);
+		if(to - from > 1) {
+			sortObjects(array, from, to, comparator);
+		}
+	}
+
+	abstract void sortInts(int[] array, int from, int to);
+
+	abstract void sortLongs(long[] array, int from, int to);
+
+	abstract void sortDoubles(double[] array, int from, int to);
+
+	abstract <T> void sortObjects(T[] array, int from, int to, Comparator<? super T> comparator);
+
+	static void checkRange(int length, int from, int to) {
+
+		if(from < 0 || to > length || from > to) {
+			throw new ArrayIndexOutOfBoundsException("Range [" + from + ", " + to + ") out of bounds for length " + length);
+		}
+	}
+}
@@ -0,0 +1,73 @@
+package com.sorter;
+
+import java.util.Comparator;
+
+// bubble sort = pairs of adjacent elements are compared, and swapped if not in order.
+// Stops as soon as a pass makes no swaps, so sorted input is O(n).
+// Quadratic time O(n^2), stable. int[] uses the one in com.bubblesort.
+final class BubbleSorter extends AbstractSorter {
+
+	static final BubbleSorter INSTANCE = new BubbleSorter();
+
+	@Override
+	void sortInts(int[] array, int from, int to) {
+		com.bubblesort.Main.bubbleSort(array, from, to);
+	}
+
+	@Override
+	void sortLongs(long[] array, int from, int to) {
+
+		for(int end = to - 1; end > from; end--) {
+			boolean swapped = false;
+			for(int j = from; j < end; j++) {
+				if(array[j] > array[j + 1]) {
+					long temp = array[j];
+					array[j] = array[j + 1];
+					array[j + 1] = temp;
+					swapped = true;
+				}
+			}
+			if(!swapped) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	void sortDoubles(double[] array, int from, int to) {
+
+		for(int end = to - 1; end > from; end--) {
+			boolean swapped = false;
+			for(int j = from; j < end; j++) {
+				if(Double.compare(array[j], array[j + 1]) > 0) {
+					double temp = array[j];
+					array[j] = array[j + 1];
+					array[j + 1] = temp;
+					swapped = true;
+				}
+			}
+			if(!swapped) {
+				return;
+			}
+		}
+	}
+
+	@Override
+	<T> void sortObjects(T[] array, int from, int to, Comparator<? super T> comparator) {
+
+		for(int end = to - 1; end > from; end--) {
+			boolean swapped = false;
+			for(int j = from; j < end; j++) {
+				if(comparator.compare(array[j], array[j + 1]) > 0) {
+					T temp = array[j];
+					array[j] = array[j + 1];
+					array[j + 1] = temp;
+					swapped = true;
+				}
+			}
+			if(!swapped) {
+				return;
+			}
+		}
+	}
+}
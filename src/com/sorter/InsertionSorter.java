@@ -0,0 +1,58 @@
+package com.sorter;
+
+import java.util.Comparator;
+
+// insertion sort = after comparing elements to the left,
+// shift elements to the right to make room to insert a value
+// Quadratic time O(n^2), O(n) on sorted input, stable. int[] uses the one in com.insertionsort.
+final class InsertionSorter extends AbstractSorter {
+
+	static final InsertionSorter INSTANCE = new InsertionSorter();
+
+	@Override
+	void sortInts(int[] array, int from, int to) {
+		com.insertionsort.Main.insertionSort(array, from, to);
+	}
+
+	@Override
+	void sortLongs(long[] array, int from, int to) {
+
+		for(int i = from + 1; i < to; i++) {
+			long temp = array[i];
+			int j = i - 1;
+			while(j >= from && array[j] > temp) {
+				array[j + 1] = array[j];
+				j--;
+			}
+			array[j + 1] = temp;
+		}
+	}
+
+	@Override
+	void sortDoubles(double[] array, int from, int to) {
+
+		for(int i = from + 1; i < to; i++) {
+			double temp = array[i];
+			int j = i - 1;
+			while(j >= from && Double.compare(array[j], temp) > 0) {
+				array[j + 1] = array[j];
+				j--;
+			}
+			array[j + 1] = temp;
+		}
+	}
+
+	@Override
+	<T> void sortObjects(T[] array, int from, int to, Comparator<? super T> comparator) {
+
+		for(int i = from + 1; i < to; i++) {
+			T temp = array[i];
+			int j = i - 1;
+			while(j >= from && comparator.compare(array[j], temp) > 0) {
+				array[j + 1] = array[j];
+				j--;
+			}
+			array[j + 1] = temp;
+		}
+	}
+}
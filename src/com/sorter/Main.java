@@ -0,0 +1,25 @@
+package com.sorter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+public class Main {
+
+	public static void main(String[] args) {
+
+		// Sorter = every sort algorithm behind one interface
+		// pick the engine, then sort ints, longs, doubles or objects, whole arrays or a range
+
+		int[] array = { 8, 2, 5, 3, 9, 4, 7, 6, 1 };
+		String[] names = { "Spongebob", "Patrick", "Sandy", "Squidward", "Gary" };
+
+		Sorter.quick().sort(array, 2, 7); // only array[2..6]
+		System.out.println(Arrays.toString(array));
+
+		Sorter.merge().sort(names, Comparator.naturalOrder());
+		System.out.println(Arrays.toString(names));
+
+		Sorter.insertion().sortByKey(names, String::length); // no Integer boxing
+		System.out.println(Arrays.toString(names));
+	}
+}
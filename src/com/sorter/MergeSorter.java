@@ -0,0 +1,101 @@
+package com.sorter;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+import com.mergesort.ParallelMergeSort;
+
+// merge sort = recursively divide array in 2, sort, re-combine
+// O(n log(n)), stable. int[] uses the parallel version from com.mergesort, the
+// other types a sequential one with the same single ping-pong buffer.
+final class MergeSorter extends AbstractSorter {
+
+	static final MergeSorter INSTANCE = new MergeSorter();
+
+	private static final int INSERTION_CUTOFF = 32;
+
+	@Override
+	void sortInts(int[] array, int from, int to) {
+		ParallelMergeSort.sort(array, from, to);
+	}
+
+	// element k of the range is array[from + k] and buffer[k]
+	@Override
+	void sortLongs(long[] array, int from, int to) {
+		sortLongs(Arrays.copyOfRange(array, from, to), 0, array, from, 0, to - from);
+	}
+
+	@Override
+	void sortDoubles(double[] array, int from, int to) {
+		sortDoubles(Arrays.copyOfRange(array, from, to), 0, array, from, 0, to - from);
+	}
+
+	@Override
+	<T> void sortObjects(T[] array, int from, int to, Comparator<? super T> comparator) {
+		sortObjects(Arrays.copyOfRange(array, from, to), 0, array, from, 0, to - from, comparator);
+	}
+
+	// Sorts [lo, hi) into dst using src as scratch; both must hold the same elements.
+	// The halves are sorted into src and merged back into dst, so nothing is copied back.
+	private static void sortLongs(long[] src, int srcOffset, long[] dst, int dstOffset, int lo, int hi) {
+
+		if(hi - lo <= INSERTION_CUTOFF) {
+			InsertionSorter.INSTANCE.sortLongs(dst, dstOffset + lo, dstOffset + hi);
+			return;
+		}
+		int middle = (lo + hi) >>> 1;
+		sortLongs(dst, dstOffset, src, srcOffset, lo, middle);
+		sortLongs(dst, dstOffset, src, srcOffset, middle, hi);
+
+		int l = srcOffset + lo, lEnd = srcOffset + middle;
+		int r = lEnd, rEnd = srcOffset + hi;
+		int out = dstOffset + lo;
+		while(l < lEnd && r < rEnd) {
+			dst[out++] = src[r] < src[l] ? src[r++] : src[l++];
+		}
+		System.arraycopy(src, l, dst, out, lEnd - l);
+		System.arraycopy(src, r, dst, out + (lEnd - l), rEnd - r);
+	}
+
+	private static void sortDoubles(double[] src, int srcOffset, double[] dst, int dstOffset, int lo, int hi) {
+
+		if(hi - lo <= INSERTION_CUTOFF) {
+			InsertionSorter.INSTANCE.sortDoubles(dst, dstOffset + lo, dstOffset + hi);
+			return;
+		}
+		int middle = (lo + hi) >>> 1;
+		sortDoubles(dst, dstOffset, src, srcOffset, lo, middle);
+		sortDoubles(dst, dstOffset, src, srcOffset, middle, hi);
+
+		int l = srcOffset + lo, lEnd = srcOffset + middle;
+		int r = lEnd, rEnd = srcOffset + hi;
+		int out = dstOffset + lo;
+		while(l < lEnd && r < rEnd) {
+			dst[out++] = Double.compare(src[r], src[l]) < 0 ? src[r++] : src[l++];
+		}
+		System.arraycopy(src, l, dst, out, lEnd - l);
+		System.arraycopy(src, r, dst, out + (lEnd - l), rEnd - r);
+	}
+
+	private static <T> void sortObjects(T[] src, int srcOffset, T[] dst, int dstOffset, int lo, int hi,
+			Comparator<? super T> comparator) {
+
+		if(hi - lo <= INSERTION_CUTOFF) {
+			InsertionSorter.INSTANCE.sortObjects(dst, dstOffset + lo, dstOffset + hi, comparator);
+			return;
+		}
+		int middle = (lo + hi) >>> 1;
+		sortObjects(dst, dstOffset, src, srcOffset, lo, middle, comparator);
+		sortObjects(dst, dstOffset, src, srcOffset, middle, hi, comparator);
+
+		int l = srcOffset + lo, lEnd = srcOffset + middle;
+		int r = lEnd, rEnd = srcOffset + hi;
+		int out = dstOffset + lo;
+		while(l < lEnd && r < rEnd) {
+			// take from the left on ties, that is what makes merge sort stable
+			dst[out++] = comparator.compare(src[r], src[l]) < 0 ? src[r++] : src[l++];
+		}
+		System.arraycopy(src, l, dst, out, lEnd - l);
+		System.arraycopy(src, r, dst, out + (lEnd - l), rEnd - r);
+	}
+}
@@ -0,0 +1,171 @@
+package com.sorter;
+
+import java.util.Comparator;
+
+import com.quicksort.IntroSort;
+
+// quick sort = moves smaller elements to left of a pivot, recursively sorts both sides.
+// int[] uses IntroSort from com.quicksort. The other types use the same scheme:
+// median-of-three pivot, three-way partition, insertion sort for small ranges, and
+// merge sort once the recursion gets suspiciously deep, so it never goes quadratic.
+// O(n log(n)), not stable
+final class QuickSorter extends AbstractSorter {
+
+	static final QuickSorter INSTANCE = new QuickSorter();
+
+	private static final int INSERTION_CUTOFF = 24;
+
+	@Override
+	void sortInts(int[] array, int from, int to) {
+		IntroSort.sort(array, from, to);
+	}
+
+	@Override
+	void sortLongs(long[] array, int from, int to) {
+		sortLongs(array, from, to, depthLimit(to - from));
+	}
+
+	@Override
+	void sortDoubles(double[] array, int from, int to) {
+		sortDoubles(array, from, to, depthLimit(to - from));
+	}
+
+	@Override
+	<T> void sortObjects(T[] array, int from, int to, Comparator<? super T> comparator) {
+		sortObjects(array, from, to, comparator, depthLimit(to - from));
+	}
+
+	private static int depthLimit(int length) {
+		return 2 * (31 - Integer.numberOfLeadingZeros(length));
+	}
+
+	private static void sortLongs(long[] array, int from, int to, int depthLimit) {
+
+		while(to - from > INSERTION_CUTOFF) {
+			if(depthLimit-- == 0) {
+				MergeSorter.INSTANCE.sortLongs(array, from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			long a = array[from], b = array[middle], c = array[to - 1];
+			long pivot = a < b ? (b < c ? b : Math.max(a, c)) : (a < c ? a : Math.max(b, c));
+
+			// [from, lt) < pivot, [lt, i) == pivot, (gt, to) > pivot
+			int lt = from, i = from, gt = to - 1;
+			while(i <= gt) {
+				long value = array[i];
+				if(value < pivot) {
+					array[i++] = array[lt];
+					array[lt++] = value;
+				}
+				else if(value > pivot) {
+					array[i] = array[gt];
+					array[gt--] = value;
+				}
+				else {
+					i++;
+				}
+			}
+			if(lt - from < to - gt - 1) {
+				sortLongs(array, from, lt, depthLimit);
+				from = gt + 1;
+			}
+			else {
+				sortLongs(array, gt + 1, to, depthLimit);
+				to = lt;
+			}
+		}
+		InsertionSorter.INSTANCE.sortLongs(array, from, to);
+	}
+
+	private static void sortDoubles(double[] array, int from, int to, int depthLimit) {
+
+		while(to - from > INSERTION_CUTOFF) {
+			if(depthLimit-- == 0) {
+				MergeSorter.INSTANCE.sortDoubles(array, from, to);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			double pivot = array[medianOfThree(array[from], array[middle], array[to - 1], from, middle, to - 1)];
+
+			int lt = from, i = from, gt = to - 1;
+			while(i <= gt) {
+				double value = array[i];
+				int compare = Double.compare(value, pivot);
+				if(compare < 0) {
+					array[i++] = array[lt];
+					array[lt++] = value;
+				}
+				else if(compare > 0) {
+					array[i] = array[gt];
+					array[gt--] = value;
+				}
+				else {
+					i++;
+				}
+			}
+			if(lt - from < to - gt - 1) {
+				sortDoubles(array, from, lt, depthLimit);
+				from = gt + 1;
+			}
+			else {
+				sortDoubles(array, gt + 1, to, depthLimit);
+				to = lt;
+			}
+		}
+		InsertionSorter.INSTANCE.sortDoubles(array, from, to);
+	}
+
+	private static int medianOfThree(double x, double y, double z, int a, int b, int c) {
+
+		if(Double.compare(x, y) < 0) {
+			return Double.compare(y, z) < 0 ? b : (Double.compare(x, z) < 0 ? c : a);
+		}
+		return Double.compare(x, z) < 0 ? a : (Double.compare(y, z) < 0 ? c : b);
+	}
+
+	private static <T> void sortObjects(T[] array, int from, int to, Comparator<? super T> comparator, int depthLimit) {
+
+		while(to - from > INSERTION_CUTOFF) {
+			if(depthLimit-- == 0) {
+				MergeSorter.INSTANCE.sortObjects(array, from, to, comparator);
+				return;
+			}
+			int middle = (from + to) >>> 1;
+			T x = array[from], y = array[middle], z = array[to - 1];
+			T pivot;
+			if(comparator.compare(x, y) < 0) {
+				pivot = comparator.compare(y, z) < 0 ? y : (comparator.compare(x, z) < 0 ? z : x);
+			}
+			else {
+				pivot = comparator.compare(x, z) < 0 ? x : (comparator.compare(y, z) < 0 ? z : y);
+			}
+
+			int lt = from, i = from, gt = to - 1;
+			while(i <= gt) {
+				T value = array[i];
+				int compare = comparator.compare(value, pivot);
+				if(compare < 0) {
+					array[i++] = array[lt];
+					array[lt++] = value;
+				}
+				else if(compare > 0) {
+					array[i] = array[gt];
+					array[gt--] = value;
+				}
+				else {
+					i++;
+				}
+			}
+			if(lt - from < to - gt - 1) {
+				sortObjects(array, from, lt, comparator, depthLimit);
+				from = gt + 1;
+			}
+			else {
+				sortObjects(array, gt + 1, to, comparator, depthLimit);
+				to = lt;
+			}
+		}
+		InsertionSorter.INSTANCE.sortObjects(array, from, to, comparator);
+	}
+}
@@ -0,0 +1,63 @@
+package com.sorter;
+
+import java.util.Comparator;
+
+// selection sort = find the minimum of the unsorted part and swap it to the front.
+// Quadratic time O(n^2), but only O(n) swaps. Not stable. int[] uses the one in com.selectionsort.
+final class SelectionSorter extends AbstractSorter {
+
+	static final SelectionSorter INSTANCE = new SelectionSorter();
+
+	@Override
+	void sortInts(int[] array, int from, int to) {
+		com.selectionsort.Main.selectionSort(array, from, to);
+	}
+
+	@Override
+	void sortLongs(long[] array, int from, int to) {
+
+		for(int i = from; i < to - 1; i++) {
+			int min = i;
+			for(int j = i + 1; j < to; j++) {
+				if(array[min] > array[j]) {
+					min = j;
+				}
+			}
+			long temp = array[i];
+			array[i] = array[min];
+			array[min] = temp;
+		}
+	}
+
+	@Override
+	void sortDoubles(double[] array, int from, int to) {
+
+		for(int i = from; i < to - 1; i++) {
+			int min = i;
+			for(int j = i + 1; j < to; j++) {
+				if(Double.compare(array[min], array[j]) > 0) {
+					min = j;
+				}
+			}
+			double temp = array[i];
+			array[i] = array[min];
+			array[min] = temp;
+		}
+	}
+
+	@Override
+	<T> void sortObjects(T[] array, int from, int to, Comparator<? super T> comparator) {
+
+		for(int i = from; i < to - 1; i++) {
+			int min = i;
+			for(int j = i + 1; j < to; j++) {
+				if(comparator.compare(array[min], array[j]) > 0) {
+					min = j;
+				}
+			}
+			T temp = array[i];
+			array[i] = array[min];
+			array[min] = temp;
+		}
+	}
+}
@@ -0,0 +1,87 @@
+package com.sorter;
+
+import java.util.Comparator;
+import java.util.function.ToIntFunction;
+
+// One interface for every sort in this project, so callers can pick an engine
+// per data type and sort a slice [from, to) of an array in place without copying.
+//
+//	Sorter.quick().sort(ints);
+//	Sorter.merge().sort(people, 0, 100, Comparator.comparing(Person::getName));
+//	Sorter.merge().sortByKey(people, Person::getAge);
+public interface Sorter {
+
+	void sort(int[] array, int from, int to);
+
+	void sort(long[] array, int from, int to);
+
+	// doubles are ordered like Double.compare: -0.0 before 0.0, NaN last
+	void sort(double[] array, int from, int to);
+
+	<T> void sort(T[] array, int from, int to, Comparator<? super T> comparator);
+
+	default void sort(int[] array) {
+		sort(array, 0, array.length);
+	}
+
+	default void sort(long[] array) {
+		sort(array, 0, array.length);
+	}
+
+	default void sort(double[] array) {
+		sort(array, 0, array.length);
+	}
+
+	default <T> void sort(T[] array, Comparator<? super T> comparator) {
+		sort(array, 0, array.length, comparator);
+	}
+
+	default <T> void sortByKey(T[] array, ToIntFunction<? super T> key) {
+		sortByKey(array, 0, array.length, key);
+	}
+
+	// Sorts objects by an int key without boxing it: each key is packed with the
+	// object's position into one long, the longs are sorted with this engine and
+	// the objects are placed in that order. Equal keys keep their order (stable).
+	default <T> void sortByKey(T[] array, int from, int to, ToIntFunction<? super T> key) {
+
+		AbstractSorter.checkRange(array.length, from, to);
+		int length = to - from;
+		if(length < 2) {
+			return;
+		}
+		long[] packed = new long[length];
+		for(int i = 0; i < length; i++) {
+			packed[i] = ((long) key.applyAsInt(array[from + i]) << 32) | i;
+		}
+		sort(packed, 0, length);
+
+		Object[] copy = new Object[length];
+		System.arraycopy(array, from, copy, 0, length);
+		for(int i = 0; i < length; i++) {
+			@SuppressWarnings("unchecked")
+			T element = (T) copy[(int) packed[i]];
+			array[from + i] = element;
+		}
+	}
+
+	static Sorter bubble() {
+		return BubbleSorter.INSTANCE;
+	}
+
+	static Sorter insertion() {
+		return InsertionSorter.INSTANCE;
+	}
+
+	static Sorter selection() {
+		return SelectionSorter.INSTANCE;
+	}
+
+	static Sorter merge() {
+		return MergeSorter.INSTANCE;
+	}
+
+	static Sorter quick() {
+		return QuickSorter.INSTANCE;
+	}
+}